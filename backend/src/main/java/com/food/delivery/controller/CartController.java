@@ -1,9 +1,14 @@
 package com.food.delivery.controller;
 
+import com.food.delivery.dto.CartRepricingStats;
+import com.food.delivery.dto.CartSweepStats;
 import com.food.delivery.model.Cart;
+import com.food.delivery.service.CartRepricingService;
 import com.food.delivery.service.CartService;
+import com.food.delivery.service.CartSweeper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,6 +19,12 @@ public class CartController {
     @Autowired
     private CartService cartService;
 
+    @Autowired
+    private CartSweeper cartSweeper;
+
+    @Autowired
+    private CartRepricingService cartRepricingService;
+
     @GetMapping
     public ResponseEntity<Cart> getCart(Authentication authentication) {
         return ResponseEntity.ok(cartService.getCart(authentication.getName()));
@@ -43,4 +54,16 @@ public class CartController {
             Authentication authentication) {
         return ResponseEntity.ok(cartService.updateCartItemQuantity(authentication.getName(), itemId, quantity));
     }
+
+    @GetMapping("/sweeper/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CartSweepStats> getSweeperStats() {
+        return ResponseEntity.ok(cartSweeper.getStats());
+    }
+
+    @GetMapping("/repricing/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CartRepricingStats> getRepricingStats() {
+        return ResponseEntity.ok(cartRepricingService.getStats());
+    }
 }
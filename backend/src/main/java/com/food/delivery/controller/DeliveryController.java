@@ -1,12 +1,15 @@
 package com.food.delivery.controller;
 
+import com.food.delivery.dto.ZoneLoad;
 import com.food.delivery.model.Order;
 import com.food.delivery.model.OrderStatus;
 import com.food.delivery.model.User;
 import com.food.delivery.service.DeliveryService;
+import com.food.delivery.service.DemandService;
 import com.food.delivery.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -23,6 +26,9 @@ public class DeliveryController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DemandService demandService;
+
     @GetMapping("/orders")
     public ResponseEntity<List<Order>> getAssignedOrders() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -38,4 +44,25 @@ public class DeliveryController {
         Order updatedOrder = deliveryService.updateOrderStatus(orderId, status);
         return ResponseEntity.ok(updatedOrder);
     }
+
+    @PutMapping("/availability")
+    @PreAuthorize("hasRole('DELIVERY_BOY')")
+    public ResponseEntity<Void> updateAvailability(@RequestParam boolean online,
+            @RequestParam(required = false) Double latitude, @RequestParam(required = false) Double longitude,
+            Authentication authentication) {
+        User user = userService.getUserByEmail(authentication.getName());
+        demandService.updateRider(user.getId(), online, latitude, longitude);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/fee")
+    public ResponseEntity<ZoneLoad> getFeeQuote(@RequestParam Double latitude, @RequestParam Double longitude) {
+        return ResponseEntity.ok(demandService.getLoad(latitude, longitude));
+    }
+
+    @GetMapping("/zones")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ZoneLoad>> getZoneLoads() {
+        return ResponseEntity.ok(demandService.getActiveZones());
+    }
 }
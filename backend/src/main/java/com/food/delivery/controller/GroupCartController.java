@@ -0,0 +1,49 @@
+package com.food.delivery.controller;
+
+import com.food.delivery.dto.CheckoutResponse;
+import com.food.delivery.dto.GroupCartResponse;
+import com.food.delivery.model.PaymentMethod;
+import com.food.delivery.service.GroupCartService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/group-carts")
+public class GroupCartController {
+
+    @Autowired
+    private GroupCartService groupCartService;
+
+    @PostMapping
+    public ResponseEntity<GroupCartResponse> createGroupCart(Authentication authentication) {
+        return ResponseEntity.ok(groupCartService.createGroupCart(authentication.getName()));
+    }
+
+    @PostMapping("/join/{shareCode}")
+    public ResponseEntity<GroupCartResponse> joinGroupCart(@PathVariable String shareCode,
+            Authentication authentication) {
+        return ResponseEntity.ok(groupCartService.joinGroupCart(authentication.getName(), shareCode));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<GroupCartResponse> getGroupCart(@PathVariable Long id, Authentication authentication) {
+        return ResponseEntity.ok(groupCartService.getGroupCart(authentication.getName(), id));
+    }
+
+    @PostMapping("/{id}/items")
+    public ResponseEntity<GroupCartResponse> updateItem(@PathVariable Long id, @RequestParam Long menuItemId,
+            @RequestParam Integer quantity, Authentication authentication) {
+        return ResponseEntity.ok(groupCartService.updateItem(authentication.getName(), id, menuItemId, quantity));
+    }
+
+    @PostMapping("/{id}/checkout")
+    public ResponseEntity<CheckoutResponse> checkout(@PathVariable Long id, @RequestParam Long addressId,
+            @RequestParam(required = false) PaymentMethod paymentMethod,
+            @RequestParam(required = false) String couponCode,
+            Authentication authentication) {
+        return ResponseEntity.ok(groupCartService.checkout(authentication.getName(), id, addressId, paymentMethod,
+                couponCode));
+    }
+}
@@ -0,0 +1,24 @@
+package com.food.delivery.controller;
+
+import com.food.delivery.dto.HomeResponse;
+import com.food.delivery.dto.RestaurantSort;
+import com.food.delivery.service.HomeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/home")
+public class HomeController {
+
+    @Autowired
+    private HomeService homeService;
+
+    @GetMapping
+    public ResponseEntity<HomeResponse> getHome(@RequestParam(defaultValue = "RATING") RestaurantSort sort,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        return ResponseEntity.ok(homeService.getHome(authentication.getName(), sort, limit));
+    }
+}
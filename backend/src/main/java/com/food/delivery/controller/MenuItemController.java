@@ -14,6 +14,11 @@ public class MenuItemController {
     @Autowired
     private RestaurantService restaurantService;
 
+    @GetMapping("/{id}")
+    public ResponseEntity<MenuItem> getMenuItem(@PathVariable Long id) {
+        return ResponseEntity.ok(restaurantService.getMenuItemById(id));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('RESTAURANT_OWNER')")
     public ResponseEntity<MenuItem> updateMenuItem(@PathVariable Long id, @RequestBody MenuItem menuItem) {
@@ -1,10 +1,14 @@
 
 package com.food.delivery.controller;
 
+import com.food.delivery.dto.CheckoutResponse;
 import com.food.delivery.dto.OrderResponse;
+import com.food.delivery.dto.ReviewRequest;
+import com.food.delivery.dto.ReviewResponse;
 import com.food.delivery.model.Order;
 import com.food.delivery.model.PaymentMethod;
 import com.food.delivery.service.OrderService;
+import com.food.delivery.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,12 +24,17 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private ReviewService reviewService;
+
     @PostMapping
-    public ResponseEntity<Order> placeOrder(
+    public ResponseEntity<CheckoutResponse> placeOrder(
             @RequestParam Long addressId,
             @RequestParam(required = false) PaymentMethod paymentMethod,
+            @RequestParam(required = false) String couponCode,
             Authentication authentication) {
-        return ResponseEntity.ok(orderService.placeOrder(authentication.getName(), addressId, paymentMethod));
+        return ResponseEntity.ok(orderService.placeOrder(authentication.getName(), addressId, paymentMethod,
+                couponCode));
     }
 
     @GetMapping("/my")
@@ -50,6 +59,12 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getOrderById(id));
     }
 
+    @PostMapping("/{id}/review")
+    public ResponseEntity<ReviewResponse> reviewOrder(@PathVariable Long id, @RequestBody ReviewRequest request,
+            Authentication authentication) {
+        return ResponseEntity.ok(reviewService.addReview(authentication.getName(), id, request));
+    }
+
     @GetMapping("/delivery/available")
     @PreAuthorize("hasRole('DELIVERY_BOY') or hasRole('ADMIN')")
     public ResponseEntity<List<OrderResponse>> getAvailableDeliveries() {
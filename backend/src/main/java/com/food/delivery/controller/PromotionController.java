@@ -0,0 +1,53 @@
+package com.food.delivery.controller;
+
+import com.food.delivery.dto.PromotionQuote;
+import com.food.delivery.model.PaymentMethod;
+import com.food.delivery.model.Promotion;
+import com.food.delivery.service.PromotionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/promotions")
+public class PromotionController {
+
+    @Autowired
+    private PromotionService promotionService;
+
+    @GetMapping
+    public ResponseEntity<List<Promotion>> getPromotions(@RequestParam(required = false) Long restaurantId) {
+        return ResponseEntity.ok(promotionService.getActivePromotions(restaurantId));
+    }
+
+    // What checkout would apply to the caller's current cart
+    @GetMapping("/quote")
+    public ResponseEntity<List<PromotionQuote>> quoteCart(@RequestParam(required = false) String couponCode,
+            @RequestParam(required = false) PaymentMethod paymentMethod, Authentication authentication) {
+        return ResponseEntity.ok(promotionService.quoteCart(authentication.getName(), couponCode, paymentMethod));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('RESTAURANT_OWNER') or hasRole('ADMIN')")
+    public ResponseEntity<Promotion> createPromotion(@RequestBody Promotion promotion,
+            Authentication authentication) {
+        return ResponseEntity.ok(promotionService.createPromotion(authentication.getName(), isAdmin(authentication),
+                promotion));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('RESTAURANT_OWNER') or hasRole('ADMIN')")
+    public ResponseEntity<Void> deactivatePromotion(@PathVariable Long id, Authentication authentication) {
+        promotionService.deactivatePromotion(authentication.getName(), isAdmin(authentication), id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN"));
+    }
+}
@@ -1,15 +1,45 @@
 package com.food.delivery.controller;
 
+import com.food.delivery.dto.AvailabilityDelta;
+import com.food.delivery.dto.AvailabilityUpdateRequest;
+import com.food.delivery.dto.DeliveryZoneRequest;
+import com.food.delivery.dto.DeliveryZoneResponse;
+import com.food.delivery.dto.KitchenLoad;
+import com.food.delivery.dto.MenuImportResult;
+import com.food.delivery.dto.MenuItemSummary;
+import com.food.delivery.dto.NearbyRestaurant;
+import com.food.delivery.dto.RestaurantFilterResponse;
+import com.food.delivery.dto.RestaurantPage;
+import com.food.delivery.dto.RestaurantSort;
+import com.food.delivery.dto.RestaurantSummary;
+import com.food.delivery.dto.StockLevel;
+import com.food.delivery.dto.ReviewResponse;
+import com.food.delivery.dto.Suggestion;
 import com.food.delivery.model.MenuItem;
 import com.food.delivery.model.Restaurant;
+import com.food.delivery.service.CatalogResponseCache;
+import com.food.delivery.service.DeliveryZoneService;
+import com.food.delivery.service.KitchenCapacityService;
+import com.food.delivery.service.MenuAvailabilityService;
+import com.food.delivery.service.MenuImportService;
+import com.food.delivery.service.MenuStockService;
 import com.food.delivery.service.RestaurantService;
+import com.food.delivery.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/restaurants")
@@ -18,25 +48,94 @@ public class RestaurantController {
     @Autowired
     private RestaurantService restaurantService;
 
+    @Autowired
+    private CatalogResponseCache responseCache;
+
+    @Autowired
+    private DeliveryZoneService deliveryZoneService;
+
+    @Autowired
+    private MenuImportService menuImportService;
+
+    @Autowired
+    private MenuAvailabilityService menuAvailabilityService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private KitchenCapacityService kitchenCapacityService;
+
+    @Autowired
+    private MenuStockService menuStockService;
+
+    // Conditional GETs answer 304 before the body is built or serialized
     @GetMapping
-    public ResponseEntity<List<Restaurant>> getAllRestaurants() {
-        return ResponseEntity.ok(restaurantService.getAllRestaurants());
+    public ResponseEntity<?> getAllRestaurants(@RequestParam(defaultValue = "RATING") RestaurantSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        String etag = restaurantService.getCatalogEtag();
+        // Only first pages are worth keeping serialized; cursors are unbounded. The key
+        // uses the clamped page size, so arbitrary limits cannot mint new entries.
+        if (cursor == null) {
+            return cachedJson(request, "restaurants:" + sort + ":" + restaurantService.getPageSize(limit), etag,
+                    () -> restaurantService.getRestaurantPage(sort, null, limit));
+        }
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(restaurantService.getRestaurantPage(sort, cursor, limit));
     }
 
     @GetMapping("/my")
     @PreAuthorize("hasRole('RESTAURANT_OWNER')")
-    public ResponseEntity<List<Restaurant>> getMyRestaurants(Authentication authentication) {
+    public ResponseEntity<List<RestaurantSummary>> getMyRestaurants(Authentication authentication) {
         return ResponseEntity.ok(restaurantService.getRestaurantsByOwner(authentication.getName()));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Restaurant> getRestaurantById(@PathVariable Long id) {
-        return ResponseEntity.ok(restaurantService.getRestaurantById(id));
+    public ResponseEntity<?> getRestaurantById(@PathVariable Long id, WebRequest request) {
+        String etag = restaurantService.getRestaurantEtag(id);
+        if (etag == null) {
+            return ResponseEntity.ok(restaurantService.getRestaurantById(id));
+        }
+        return cachedJson(request, "restaurant:" + id, etag, () -> restaurantService.getRestaurantById(id));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Restaurant>> searchRestaurants(@RequestParam String query) {
-        return ResponseEntity.ok(restaurantService.searchRestaurants(query));
+    public ResponseEntity<RestaurantPage> searchRestaurants(@RequestParam String query,
+            @RequestParam(required = false) RestaurantSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(restaurantService.searchRestaurants(query, sort, cursor, limit));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(@RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(restaurantService.suggest(prefix, limit));
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<RestaurantFilterResponse> filterRestaurants(
+            @RequestParam(required = false) List<String> cuisine,
+            @RequestParam(required = false) Boolean vegOnly,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) Integer maxDeliveryTime) {
+        return ResponseEntity.ok(restaurantService.filterRestaurants(cuisine, vegOnly, minRating, maxDeliveryTime));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyRestaurant>> getNearbyRestaurants(@RequestParam Double lat,
+            @RequestParam Double lng) {
+        return ResponseEntity.ok(restaurantService.findNearbyRestaurants(lat, lng));
+    }
+
+    @GetMapping("/serving")
+    public ResponseEntity<List<RestaurantSummary>> getRestaurantsServing(@RequestParam Double lat,
+            @RequestParam Double lng) {
+        return ResponseEntity.ok(restaurantService.findRestaurantsServing(lat, lng));
     }
 
     @PostMapping
@@ -46,9 +145,25 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurantService.createRestaurant(restaurant, authentication.getName()));
     }
 
+    // Keyed by restaurant id; tagged with the catalog and availability versions since
+    // any menu may be in it
+    @GetMapping("/menus")
+    public ResponseEntity<Map<Long, List<MenuItemSummary>>> getMenus(@RequestParam List<Long> ids,
+            WebRequest request) {
+        String etag = restaurantService.getMenusEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(restaurantService.getMenuSummaries(ids));
+    }
+
     @GetMapping("/{id}/menu")
-    public ResponseEntity<List<MenuItem>> getMenu(@PathVariable Long id) {
-        return ResponseEntity.ok(restaurantService.getMenuByRestaurant(id));
+    public ResponseEntity<?> getMenu(@PathVariable Long id, WebRequest request) {
+        String etag = restaurantService.getMenuEtag(id);
+        if (etag == null) {
+            return ResponseEntity.ok(restaurantService.getMenuSummaries(id));
+        }
+        return cachedJson(request, "menu:" + id, etag, () -> restaurantService.getMenuSummaries(id));
     }
 
     @PostMapping("/{id}/menu")
@@ -56,4 +171,134 @@ public class RestaurantController {
     public ResponseEntity<MenuItem> addMenuItem(@PathVariable Long id, @RequestBody MenuItem menuItem) {
         return ResponseEntity.ok(restaurantService.addMenuItem(id, menuItem));
     }
+
+    // Body is read as a stream: text/csv with a header row, or one JSON object per line
+    @PostMapping(value = "/{id}/menu/import", consumes = { "text/csv", "application/x-ndjson", "application/jsonl" })
+    @PreAuthorize("hasRole('RESTAURANT_OWNER')")
+    public ResponseEntity<MenuImportResult> importMenu(@PathVariable Long id,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body,
+            Authentication authentication) {
+        boolean csv = contentType.toLowerCase().startsWith("text/csv");
+        return ResponseEntity.ok(menuImportService.importMenu(authentication.getName(), id, body, csv));
+    }
+
+    @GetMapping("/{id}/menu/availability")
+    public ResponseEntity<AvailabilityDelta> getMenuAvailability(@PathVariable Long id) {
+        return ResponseEntity.ok(menuAvailabilityService.getAvailability(id));
+    }
+
+    // Sends the current state first, then one delta per committed toggle
+    @GetMapping(value = "/{id}/menu/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMenuAvailability(@PathVariable Long id) {
+        return menuAvailabilityService.subscribe(id);
+    }
+
+    @PatchMapping("/{id}/menu/availability")
+    @PreAuthorize("hasRole('RESTAURANT_OWNER')")
+    public ResponseEntity<AvailabilityDelta> updateMenuAvailability(@PathVariable Long id,
+            @RequestBody AvailabilityUpdateRequest request, Authentication authentication) {
+        if (request.getAvailable() == null) {
+            throw new RuntimeException("Availability is required");
+        }
+        return ResponseEntity.ok(menuAvailabilityService.setAvailability(authentication.getName(), id,
+                request.getItemIds(), request.getAvailable()));
+    }
+
+    @PatchMapping("/{id}/menu/{itemId}/availability")
+    @PreAuthorize("hasRole('RESTAURANT_OWNER')")
+    public ResponseEntity<AvailabilityDelta> updateMenuItemAvailability(@PathVariable Long id,
+            @PathVariable Long itemId, @RequestParam boolean available, Authentication authentication) {
+        return ResponseEntity.ok(menuAvailabilityService.setAvailability(authentication.getName(), id,
+                List.of(itemId), available));
+    }
+
+    @GetMapping("/{id}/menu/stock")
+    public ResponseEntity<List<StockLevel>> getMenuStock(@PathVariable Long id) {
+        return ResponseEntity.ok(menuStockService.getStock(id));
+    }
+
+    // Omit quantity to stop limiting the item
+    @PutMapping("/{id}/menu/{itemId}/stock")
+    @PreAuthorize("hasRole('RESTAURANT_OWNER')")
+    public ResponseEntity<StockLevel> setMenuItemStock(@PathVariable Long id, @PathVariable Long itemId,
+            @RequestParam(required = false) Integer quantity, Authentication authentication) {
+        return ResponseEntity.ok(menuStockService.setStock(authentication.getName(), id, itemId, quantity));
+    }
+
+    @GetMapping("/{id}/capacity")
+    public ResponseEntity<KitchenLoad> getKitchenLoad(@PathVariable Long id) {
+        return ResponseEntity.ok(kitchenCapacityService.getLoad(id));
+    }
+
+    // Omit maxActiveOrders to lift the limit
+    @PutMapping("/{id}/capacity")
+    @PreAuthorize("hasRole('RESTAURANT_OWNER')")
+    public ResponseEntity<KitchenLoad> setKitchenCapacity(@PathVariable Long id,
+            @RequestParam(required = false) Integer maxActiveOrders, Authentication authentication) {
+        return ResponseEntity.ok(kitchenCapacityService.setCapacity(authentication.getName(), id, maxActiveOrders));
+    }
+
+    @GetMapping("/{id}/reviews")
+    public ResponseEntity<List<ReviewResponse>> getReviews(@PathVariable Long id) {
+        return ResponseEntity.ok(reviewService.getRestaurantReviews(id));
+    }
+
+    @GetMapping("/{id}/delivery-zones")
+    public ResponseEntity<List<DeliveryZoneResponse>> getDeliveryZones(@PathVariable Long id) {
+        return ResponseEntity.ok(deliveryZoneService.getZones(id));
+    }
+
+    @PostMapping("/{id}/delivery-zones")
+    @PreAuthorize("hasRole('RESTAURANT_OWNER')")
+    public ResponseEntity<DeliveryZoneResponse> addDeliveryZone(@PathVariable Long id,
+            @RequestBody DeliveryZoneRequest request, Authentication authentication) {
+        return ResponseEntity.ok(deliveryZoneService.addZone(authentication.getName(), id, request));
+    }
+
+    @DeleteMapping("/{id}/delivery-zones/{zoneId}")
+    @PreAuthorize("hasRole('RESTAURANT_OWNER')")
+    public ResponseEntity<Void> deleteDeliveryZone(@PathVariable Long id, @PathVariable Long zoneId,
+            Authentication authentication) {
+        deliveryZoneService.deleteZone(authentication.getName(), id, zoneId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Writes the pre-serialized bytes as-is, picking the gzip variant when the
+    // client accepts it, so neither Jackson nor the compressor runs per request.
+    // The gzip bytes are a different representation, so they get their own strong
+    // ETag; a cache holding one encoding never revalidates it as the other.
+    private ResponseEntity<byte[]> cachedJson(WebRequest request, String key, String etag,
+            Supplier<Object> body) {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String tag = gzip ? etag + "-gzip" : etag;
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            // Set before the check so 304s carry it too
+            servletRequest.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        CatalogResponseCache.CachedResponse cached = responseCache.get(key, etag, body);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(tag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cached.getGzipped());
+        }
+        return builder.body(cached.getJson());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,19 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Items that flipped since the previous version. As a full state (GET or the first
+// stream event) available is empty and unavailable lists every sold-out item.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityDelta {
+    private Long restaurantId;
+    private long version;
+    private List<Long> available;
+    private List<Long> unavailable;
+}
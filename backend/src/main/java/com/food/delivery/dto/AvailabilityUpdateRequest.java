@@ -0,0 +1,15 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityUpdateRequest {
+    private List<Long> itemIds;
+    private Boolean available;
+}
@@ -0,0 +1,19 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartRepricingStats {
+    private LocalDateTime lastRunAt;
+    private RepricingResult lastRun;
+    private long totalRuns;
+    private long totalCartsTouched;
+    private long totalCartItemsTouched;
+    private long totalElapsedMs;
+}
@@ -0,0 +1,20 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartSweepStats {
+    private LocalDateTime lastRunAt;
+    private int lastRunBatches;
+    private int lastRunCartsDeleted;
+    private int lastRunItemsDeleted;
+    private long lastRunElapsedMs;
+    private long totalCartsDeleted;
+    private long totalItemsDeleted;
+}
@@ -0,0 +1,16 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One order per restaurant in the cart, all placed together
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutResponse {
+    private List<OrderResponse> orders;
+    private Double totalAmount;
+}
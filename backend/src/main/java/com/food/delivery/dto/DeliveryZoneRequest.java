@@ -0,0 +1,11 @@
+package com.food.delivery.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DeliveryZoneRequest {
+    private String name;
+    private List<List<Double>> points; // [[lat, lng], ...]
+}
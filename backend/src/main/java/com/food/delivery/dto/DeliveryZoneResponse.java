@@ -0,0 +1,17 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryZoneResponse {
+    private Long id;
+    private Long restaurantId;
+    private String name;
+    private List<List<Double>> points;
+}
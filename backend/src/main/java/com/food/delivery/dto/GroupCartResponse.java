@@ -0,0 +1,32 @@
+package com.food.delivery.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class GroupCartResponse {
+    private Long id;
+    private String shareCode;
+    private Long ownerId;
+    private String ownerName;
+    private List<ParticipantInfo> participants;
+    private Double totalAmount;
+
+    @Data
+    public static class ParticipantInfo {
+        private Long userId;
+        private String name;
+        private List<ItemInfo> items;
+        private Double subtotal;
+    }
+
+    @Data
+    public static class ItemInfo {
+        private Long id;
+        private Long menuItemId;
+        private String name;
+        private Integer quantity;
+        private Double price;
+    }
+}
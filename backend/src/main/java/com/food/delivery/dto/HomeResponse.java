@@ -0,0 +1,41 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Parts that failed or timed out are null and named in missing, so the client
+// can fall back to the individual endpoint for just those
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomeResponse {
+    private ProfileInfo profile;
+    private RestaurantPage restaurants;
+    private CartInfo cart;
+    private List<OrderResponse> activeOrders;
+    private List<String> missing;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProfileInfo {
+        private Long id;
+        private String name;
+        private String email;
+        private String phone;
+        private String imageUrl;
+        private String role;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CartInfo {
+        private Long id;
+        private int itemCount;
+        private Double totalAmount;
+    }
+}
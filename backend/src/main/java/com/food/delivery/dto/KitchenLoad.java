@@ -0,0 +1,15 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenLoad {
+    private Long restaurantId;
+    private int activeOrders;
+    private Integer maxActiveOrders;
+    private int estimatedWaitMinutes; // 0 while below capacity
+}
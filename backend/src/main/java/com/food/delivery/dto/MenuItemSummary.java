@@ -0,0 +1,32 @@
+package com.food.delivery.dto;
+
+import com.food.delivery.service.CatalogMenuItem;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Menu card fields; the description is cut to a snippet, the full text comes from
+// GET /api/menu-items/{id}
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemSummary {
+    public static final int DESCRIPTION_SNIPPET_LENGTH = 140;
+
+    private Long id;
+    private String name;
+    private String description;
+    private Double price;
+    private boolean veg;
+    private boolean available;
+    private String imageUrl;
+
+    public static MenuItemSummary from(CatalogMenuItem item) {
+        String description = item.description();
+        if (description != null && description.length() > DESCRIPTION_SNIPPET_LENGTH) {
+            description = description.substring(0, DESCRIPTION_SNIPPET_LENGTH - 1).trim() + "…";
+        }
+        return new MenuItemSummary(item.id(), item.name(), description, item.price(), item.veg(),
+                item.available(), item.imageUrl());
+    }
+}
@@ -14,6 +14,8 @@ public class OrderResponse {
     private AddressInfo address;
     private List<OrderItemInfo> items;
     private Double totalAmount;
+    private Double deliveryFee;
+    private Double discountAmount;
     private OrderStatus status;
     private String paymentStatus;
     private PaymentMethod paymentMethod;
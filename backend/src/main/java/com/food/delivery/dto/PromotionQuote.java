@@ -0,0 +1,18 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The promotion chosen for one restaurant's share of the cart
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromotionQuote {
+    private Long restaurantId;
+    private double subtotal;
+    private Long promotionId;
+    private String code;
+    private String name;
+    private double discount;
+}
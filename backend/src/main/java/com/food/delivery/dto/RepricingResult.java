@@ -0,0 +1,15 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepricingResult {
+    private Long menuItemId;
+    private int cartsTouched;
+    private int cartItemsTouched;
+    private long elapsedMs;
+}
@@ -0,0 +1,33 @@
+package com.food.delivery.dto;
+
+import com.food.delivery.service.CatalogRestaurant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Public restaurant page: everything a customer sees, but not the owner account
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantDetail {
+    private Long id;
+    private String name;
+    private String description;
+    private String address;
+    private String cuisineType;
+    private String imageUrl;
+    private Double avgRating;
+    private long ratingCount;
+    private Integer deliveryTime;
+    private Double latitude;
+    private Double longitude;
+    private Double deliveryRadiusKm;
+    private boolean active;
+
+    public static RestaurantDetail from(CatalogRestaurant restaurant) {
+        return new RestaurantDetail(restaurant.id(), restaurant.name(), restaurant.description(),
+                restaurant.address(), restaurant.cuisineType(), restaurant.imageUrl(), restaurant.avgRating(),
+                restaurant.ratingCount(), restaurant.deliveryTime(), restaurant.latitude(), restaurant.longitude(),
+                restaurant.deliveryRadiusKm(), restaurant.active());
+    }
+}
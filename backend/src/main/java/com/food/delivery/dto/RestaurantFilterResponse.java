@@ -0,0 +1,14 @@
+package com.food.delivery.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class RestaurantFilterResponse {
+    private int total;
+    private List<RestaurantSummary> restaurants;
+    // facet name -> value -> number of restaurants that would match if that value were picked
+    private Map<String, Map<String, Integer>> facets;
+}
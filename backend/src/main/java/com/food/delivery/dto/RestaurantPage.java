@@ -0,0 +1,15 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantPage {
+    private List<RestaurantSummary> items;
+    private String nextCursor; // null on the last page
+}
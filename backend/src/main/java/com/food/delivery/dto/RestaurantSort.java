@@ -0,0 +1,31 @@
+package com.food.delivery.dto;
+
+import java.util.Comparator;
+
+// Stable list orders; every order ends on id so keys are unique and pages never
+// overlap or skip entries
+public enum RestaurantSort {
+    RATING(Comparator.comparingDouble((RestaurantSummary r) -> -rating(r))
+            .thenComparing(RestaurantSummary::getId)),
+    DELIVERY_TIME(Comparator.comparingInt(RestaurantSort::deliveryTime)
+            .thenComparing(RestaurantSummary::getId)),
+    ID(Comparator.comparing(RestaurantSummary::getId));
+
+    private final Comparator<RestaurantSummary> comparator;
+
+    RestaurantSort(Comparator<RestaurantSummary> comparator) {
+        this.comparator = comparator;
+    }
+
+    public Comparator<RestaurantSummary> getComparator() {
+        return comparator;
+    }
+
+    public static double rating(RestaurantSummary restaurant) {
+        return restaurant.getAvgRating() != null ? restaurant.getAvgRating() : 0.0;
+    }
+
+    public static int deliveryTime(RestaurantSummary restaurant) {
+        return restaurant.getDeliveryTime() != null ? restaurant.getDeliveryTime() : Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,24 @@
+package com.food.delivery.dto;
+
+import com.food.delivery.service.CatalogRestaurant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Card fields only: no description, address or owner
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantSummary {
+    private Long id;
+    private String name;
+    private String cuisineType;
+    private Double avgRating;
+    private Integer deliveryTime;
+    private String imageUrl;
+
+    public static RestaurantSummary from(CatalogRestaurant restaurant) {
+        return new RestaurantSummary(restaurant.id(), restaurant.name(), restaurant.cuisineType(),
+                restaurant.avgRating(), restaurant.deliveryTime(), restaurant.imageUrl());
+    }
+}
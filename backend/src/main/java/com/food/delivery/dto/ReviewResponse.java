@@ -0,0 +1,20 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewResponse {
+    private Long id;
+    private Long orderId;
+    private Long restaurantId;
+    private String userName;
+    private Integer rating;
+    private String comment;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,13 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevel {
+    private Long menuItemId;
+    private Integer available; // null when the item is not stock-limited
+}
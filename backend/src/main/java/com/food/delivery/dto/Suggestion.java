@@ -0,0 +1,14 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+    private String text;
+    private String type; // RESTAURANT, CUISINE or DISH
+    private long weight;
+}
@@ -0,0 +1,18 @@
+package com.food.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ZoneLoad {
+    private Long zoneId;
+    private Double centerLatitude;
+    private Double centerLongitude;
+    private long ordersPerMinute;
+    private int availableRiders;
+    private double surgeMultiplier;
+    private double deliveryFee;
+}
@@ -0,0 +1,13 @@
+package com.food.delivery.event;
+
+public class CatalogChangedEvent {
+    private final Long restaurantId;
+
+    public CatalogChangedEvent(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.food.delivery.event;
+
+import com.food.delivery.service.CatalogSnapshot;
+
+// Published after a new catalog snapshot is installed. restaurantId is null when
+// the whole catalog was reloaded. ratingOnly marks a delta that changed nothing
+// but the restaurant's rating, so indexes that ignore ratings can skip it.
+public class CatalogRefreshedEvent {
+    private final CatalogSnapshot snapshot;
+    private final Long restaurantId;
+    private final boolean ratingOnly;
+
+    public CatalogRefreshedEvent(CatalogSnapshot snapshot, Long restaurantId) {
+        this(snapshot, restaurantId, false);
+    }
+
+    public CatalogRefreshedEvent(CatalogSnapshot snapshot, Long restaurantId, boolean ratingOnly) {
+        this.snapshot = snapshot;
+        this.restaurantId = restaurantId;
+        this.ratingOnly = ratingOnly;
+    }
+
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public boolean isFullReload() {
+        return restaurantId == null;
+    }
+
+    public boolean isRatingOnly() {
+        return ratingOnly;
+    }
+}
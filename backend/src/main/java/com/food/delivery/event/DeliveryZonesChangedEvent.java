@@ -0,0 +1,13 @@
+package com.food.delivery.event;
+
+public class DeliveryZonesChangedEvent {
+    private final Long restaurantId;
+
+    public DeliveryZonesChangedEvent(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+}
@@ -0,0 +1,16 @@
+package com.food.delivery.event;
+
+import java.util.List;
+
+// Published by checkout after taking kitchen slots, so a rollback can hand them back
+public class KitchenSlotsReservedEvent {
+    private final List<Long> restaurantIds;
+
+    public KitchenSlotsReservedEvent(List<Long> restaurantIds) {
+        this.restaurantIds = restaurantIds;
+    }
+
+    public List<Long> getRestaurantIds() {
+        return restaurantIds;
+    }
+}
@@ -0,0 +1,40 @@
+package com.food.delivery.event;
+
+import com.food.delivery.dto.AvailabilityDelta;
+
+import java.util.List;
+
+// Published inside the transaction that flipped the items; listeners act after commit
+public class MenuAvailabilityChangedEvent {
+    private final Long restaurantId;
+    private final List<Long> itemIds;
+    private final boolean available;
+    // Set by the listener once the flip is applied in memory, null if it flipped nothing
+    private AvailabilityDelta applied;
+
+    public MenuAvailabilityChangedEvent(Long restaurantId, List<Long> itemIds, boolean available) {
+        this.restaurantId = restaurantId;
+        this.itemIds = itemIds;
+        this.available = available;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public List<Long> getItemIds() {
+        return itemIds;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public AvailabilityDelta getApplied() {
+        return applied;
+    }
+
+    public void setApplied(AvailabilityDelta applied) {
+        this.applied = applied;
+    }
+}
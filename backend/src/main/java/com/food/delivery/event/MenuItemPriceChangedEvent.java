@@ -0,0 +1,19 @@
+package com.food.delivery.event;
+
+public class MenuItemPriceChangedEvent {
+    private final Long menuItemId;
+    private final Double newPrice;
+
+    public MenuItemPriceChangedEvent(Long menuItemId, Double newPrice) {
+        this.menuItemId = menuItemId;
+        this.newPrice = newPrice;
+    }
+
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public Double getNewPrice() {
+        return newPrice;
+    }
+}
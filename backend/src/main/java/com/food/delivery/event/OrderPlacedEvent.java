@@ -0,0 +1,38 @@
+package com.food.delivery.event;
+
+// Coordinates are the delivery address's, or null when it has none
+public class OrderPlacedEvent {
+    private final Long orderId;
+    private final Long userId;
+    private final Long restaurantId;
+    private final Double latitude;
+    private final Double longitude;
+
+    public OrderPlacedEvent(Long orderId, Long userId, Long restaurantId, Double latitude, Double longitude) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.restaurantId = restaurantId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+}
@@ -0,0 +1,33 @@
+package com.food.delivery.event;
+
+import com.food.delivery.model.OrderStatus;
+
+public class OrderStatusChangedEvent {
+    private final Long orderId;
+    private final Long restaurantId;
+    private final OrderStatus previousStatus;
+    private final OrderStatus status;
+
+    public OrderStatusChangedEvent(Long orderId, Long restaurantId, OrderStatus previousStatus, OrderStatus status) {
+        this.orderId = orderId;
+        this.restaurantId = restaurantId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+}
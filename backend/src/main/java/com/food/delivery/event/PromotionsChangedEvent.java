@@ -0,0 +1,13 @@
+package com.food.delivery.event;
+
+public class PromotionsChangedEvent {
+    private final Long promotionId;
+
+    public PromotionsChangedEvent(Long promotionId) {
+        this.promotionId = promotionId;
+    }
+
+    public Long getPromotionId() {
+        return promotionId;
+    }
+}
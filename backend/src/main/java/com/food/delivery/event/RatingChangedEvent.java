@@ -0,0 +1,14 @@
+package com.food.delivery.event;
+
+// A review moved the restaurant's rating totals; the catalog picks it up in its next batch
+public class RatingChangedEvent {
+    private final Long restaurantId;
+
+    public RatingChangedEvent(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+}
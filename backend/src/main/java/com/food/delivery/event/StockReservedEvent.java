@@ -0,0 +1,17 @@
+package com.food.delivery.event;
+
+import java.util.Map;
+
+// Units taken from in-memory stock by a checkout, keyed by menu item id. They
+// become a persisted decrement on commit and go back on the shelf on rollback.
+public class StockReservedEvent {
+    private final Map<Long, Integer> quantities;
+
+    public StockReservedEvent(Map<Long, Integer> quantities) {
+        this.quantities = quantities;
+    }
+
+    public Map<Long, Integer> getQuantities() {
+        return quantities;
+    }
+}
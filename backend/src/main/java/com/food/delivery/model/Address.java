@@ -24,6 +24,8 @@ public class Address {
     private String city;
     private String state;
     private String pincode;
+    private Double latitude;
+    private Double longitude;
     private boolean isDefault;
 
     public Long getId() {
@@ -74,6 +76,22 @@ public class Address {
         this.pincode = pincode;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public boolean isDefault() {
         return isDefault;
     }
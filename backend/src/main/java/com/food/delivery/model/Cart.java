@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,7 +18,7 @@ public class Cart {
     private Long id;
 
     @OneToOne
-    @JoinColumn(name = "user_id")
+    @JoinColumn(name = "user_id", unique = true)
     private User user;
 
     @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
@@ -25,6 +26,21 @@ public class Cart {
 
     private Double totalAmount = 0.0;
 
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Bulk repricing bumps this too, so a save of a cart loaded before a price
+    // change fails instead of writing the old prices back
+    @Version
+    @Column(columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
     public Long getId() {
         return id;
     }
@@ -57,6 +73,22 @@ public class Cart {
         this.totalAmount = totalAmount;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void calculateTotal() {
         this.totalAmount = items.stream()
                 .mapToDouble(item -> item.getPrice() * item.getQuantity())
@@ -0,0 +1,6 @@
+package com.food.delivery.model;
+
+public enum DiscountType {
+    PERCENTAGE,
+    FLAT
+}
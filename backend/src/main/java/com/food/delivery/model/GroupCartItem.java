@@ -0,0 +1,81 @@
+package com.food.delivery.model;
+
+import jakarta.persistence.*;
+
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+// One row per (group cart, participant, menu item); quantities only ever change
+// through commutative deltas applied in SQL
+@Entity
+@Table(name = "group_cart_items", uniqueConstraints = @UniqueConstraint(
+        name = "uk_group_cart_items_line", columnNames = { "group_cart_id", "user_id", "menu_item_id" }))
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupCartItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "group_cart_id", nullable = false)
+    private Long groupCartId;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "menu_item_id", nullable = false)
+    private MenuItem menuItem;
+
+    private Integer quantity;
+    private Double price; // Price at the time of first adding
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getGroupCartId() {
+        return groupCartId;
+    }
+
+    public void setGroupCartId(Long groupCartId) {
+        this.groupCartId = groupCartId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public MenuItem getMenuItem() {
+        return menuItem;
+    }
+
+    public void setMenuItem(MenuItem menuItem) {
+        this.menuItem = menuItem;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+}
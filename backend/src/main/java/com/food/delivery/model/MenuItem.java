@@ -32,6 +32,10 @@ public class MenuItem {
     private String imageUrl;
     private boolean available = true;
 
+    // Null when the item is not stock-limited. Only MenuStockService writes it after insert.
+    @Column(name = "stock_quantity", updatable = false)
+    private Integer stockQuantity;
+
     public Long getId() {
         return id;
     }
@@ -99,4 +103,12 @@ public class MenuItem {
     public void setAvailable(boolean available) {
         this.available = available;
     }
+
+    public Integer getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public void setStockQuantity(Integer stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
 }
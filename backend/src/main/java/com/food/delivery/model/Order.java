@@ -35,7 +35,16 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
     private List<OrderItem> items;
 
-    private Double totalAmount;
+    private Double totalAmount; // items plus delivery fee, less discount
+
+    @Column(name = "delivery_fee")
+    private Double deliveryFee;
+
+    @Column(name = "discount_amount")
+    private Double discountAmount;
+
+    @Column(name = "promotion_id")
+    private Long promotionId;
 
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
@@ -98,6 +107,30 @@ public class Order {
         this.items = items;
     }
 
+    public Double getDeliveryFee() {
+        return deliveryFee;
+    }
+
+    public void setDeliveryFee(Double deliveryFee) {
+        this.deliveryFee = deliveryFee;
+    }
+
+    public Double getDiscountAmount() {
+        return discountAmount;
+    }
+
+    public void setDiscountAmount(Double discountAmount) {
+        this.discountAmount = discountAmount;
+    }
+
+    public Long getPromotionId() {
+        return promotionId;
+    }
+
+    public void setPromotionId(Long promotionId) {
+        this.promotionId = promotionId;
+    }
+
     public Double getTotalAmount() {
         return totalAmount;
     }
@@ -20,12 +20,18 @@ public class OrderItem {
     @JsonIgnore
     private Order order;
 
-    @ManyToOne(fetch = FetchType.EAGER)
-    @JoinColumn(name = "menu_item_id")
-    private MenuItem menuItem;
+    // Plain id plus a snapshot of the item as ordered, so history never reads
+    // menu_items and survives the item being edited or deleted
+    @Column(name = "menu_item_id")
+    private Long menuItemId;
+
+    @Column(name = "item_name")
+    private String itemName;
+
+    private Boolean veg;
 
     private Integer quantity;
-    private Double price;
+    private Double price; // Unit price at order time
 
     public Long getId() {
         return id;
@@ -43,12 +49,28 @@ public class OrderItem {
         this.order = order;
     }
 
-    public MenuItem getMenuItem() {
-        return menuItem;
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public void setMenuItemId(Long menuItemId) {
+        this.menuItemId = menuItemId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
+    }
+
+    public Boolean getVeg() {
+        return veg;
     }
 
-    public void setMenuItem(MenuItem menuItem) {
-        this.menuItem = menuItem;
+    public void setVeg(Boolean veg) {
+        this.veg = veg;
     }
 
     public Integer getQuantity() {
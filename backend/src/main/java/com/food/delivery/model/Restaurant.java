@@ -1,6 +1,7 @@
 package com.food.delivery.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.util.List;
 
@@ -21,9 +22,26 @@ public class Restaurant {
     private String cuisineType;
     @Column(columnDefinition = "TEXT")
     private String imageUrl;
+    // Rating columns only change through ReviewService's atomic SQL increments, and
+    // are read-only in request bodies so a new restaurant cannot arrive pre-rated
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "avg_rating", updatable = false)
     private Double avgRating = 0.0;
+    @JsonIgnore
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    private long ratingSum;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "rating_count", nullable = false, updatable = false)
+    private long ratingCount;
     private Integer deliveryTime; // in minutes
 
+    private Double latitude;
+    private Double longitude;
+    private Double deliveryRadiusKm;
+
+    @Column(name = "max_active_orders")
+    private Integer maxActiveOrders; // kitchen capacity; null means unlimited
+
     @ManyToOne
     @JoinColumn(name = "owner_id")
     private User owner;
@@ -99,6 +117,22 @@ public class Restaurant {
         this.avgRating = avgRating;
     }
 
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public long getRatingCount() {
+        return ratingCount;
+    }
+
+    public void setRatingCount(long ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+
     public Integer getDeliveryTime() {
         return deliveryTime;
     }
@@ -107,6 +141,30 @@ public class Restaurant {
         this.deliveryTime = deliveryTime;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getDeliveryRadiusKm() {
+        return deliveryRadiusKm;
+    }
+
+    public void setDeliveryRadiusKm(Double deliveryRadiusKm) {
+        this.deliveryRadiusKm = deliveryRadiusKm;
+    }
+
     public String getImageUrl() {
         return imageUrl;
     }
@@ -115,6 +173,14 @@ public class Restaurant {
         this.imageUrl = imageUrl;
     }
 
+    public Integer getMaxActiveOrders() {
+        return maxActiveOrders;
+    }
+
+    public void setMaxActiveOrders(Integer maxActiveOrders) {
+        this.maxActiveOrders = maxActiveOrders;
+    }
+
     public User getOwner() {
         return owner;
     }
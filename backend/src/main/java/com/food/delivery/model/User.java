@@ -1,5 +1,6 @@
 package com.food.delivery.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -20,6 +21,7 @@ public class User {
     @Column(nullable = false, unique = true)
     private String email;
 
+    @JsonIgnore
     @Column(nullable = false)
     private String password;
 
@@ -35,6 +37,11 @@ public class User {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // Only UserRepository.markOrdered writes it, so entity saves cannot reset it
+    @Column(name = "has_ordered", insertable = false, updatable = false,
+            columnDefinition = "BOOLEAN NOT NULL DEFAULT FALSE")
+    private boolean hasOrdered;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -106,4 +113,12 @@ public class User {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public boolean getHasOrdered() {
+        return hasOrdered;
+    }
+
+    public void setHasOrdered(boolean hasOrdered) {
+        this.hasOrdered = hasOrdered;
+    }
 }
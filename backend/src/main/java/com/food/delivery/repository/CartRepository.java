@@ -2,11 +2,52 @@ package com.food.delivery.repository;
 
 import com.food.delivery.model.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CartRepository extends JpaRepository<Cart, Long> {
     Optional<Cart> findByUserId(Long userId);
+
+    // Relies on the unique constraint on carts.user_id, so concurrent first adds
+    // for the same user collapse into a single row instead of racing.
+    @Modifying
+    @Query(value = "INSERT INTO carts (user_id, total_amount, updated_at) VALUES (:userId, 0, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    // Recomputes totals of carts holding a stale price for the item. Must run
+    // before repriceItems, which is what makes those lines no longer stale.
+    // Bumping the version makes concurrent saves of those carts fail.
+    @Modifying
+    @Query(value = "UPDATE carts c SET total_amount = ("
+            + "SELECT COALESCE(SUM(CASE WHEN ci.menu_item_id = :menuItemId THEN :price ELSE ci.price END"
+            + " * ci.quantity), 0) FROM cart_items ci WHERE ci.cart_id = c.id), version = c.version + 1 "
+            + "WHERE EXISTS (SELECT 1 FROM cart_items ci WHERE ci.cart_id = c.id "
+            + "AND ci.menu_item_id = :menuItemId AND ci.price <> :price)", nativeQuery = true)
+    int repriceTotals(@Param("menuItemId") Long menuItemId, @Param("price") Double price);
+
+    @Modifying
+    @Query(value = "UPDATE cart_items SET price = :price "
+            + "WHERE menu_item_id = :menuItemId AND price <> :price", nativeQuery = true)
+    int repriceItems(@Param("menuItemId") Long menuItemId, @Param("price") Double price);
+
+    // SKIP LOCKED leaves carts that live requests are editing to a later run.
+    @Query(value = "SELECT id FROM carts WHERE updated_at < :cutoff ORDER BY id "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockExpiredCartIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM cart_items WHERE cart_id IN (:cartIds)", nativeQuery = true)
+    int deleteItemsByCartIds(@Param("cartIds") List<Long> cartIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM carts WHERE id IN (:cartIds)", nativeQuery = true)
+    int deleteByCartIds(@Param("cartIds") List<Long> cartIds);
 }
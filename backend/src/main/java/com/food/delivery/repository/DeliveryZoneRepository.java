@@ -0,0 +1,12 @@
+package com.food.delivery.repository;
+
+import com.food.delivery.model.DeliveryZone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DeliveryZoneRepository extends JpaRepository<DeliveryZone, Long> {
+    List<DeliveryZone> findByRestaurantId(Long restaurantId);
+}
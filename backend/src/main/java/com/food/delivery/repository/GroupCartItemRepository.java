@@ -0,0 +1,41 @@
+package com.food.delivery.repository;
+
+import com.food.delivery.model.GroupCartItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GroupCartItemRepository extends JpaRepository<GroupCartItem, Long> {
+    List<GroupCartItem> findByGroupCartIdOrderByIdAsc(Long groupCartId);
+
+    // Quantity deltas commute, so concurrent adds to the same line add up instead
+    // of overwriting each other, and different lines never touch the same row.
+    @Modifying
+    @Query(value = "INSERT INTO group_cart_items (group_cart_id, user_id, menu_item_id, quantity, price) "
+            + "VALUES (:groupCartId, :userId, :menuItemId, :delta, :price) "
+            + "ON CONFLICT (group_cart_id, user_id, menu_item_id) "
+            + "DO UPDATE SET quantity = group_cart_items.quantity + EXCLUDED.quantity", nativeQuery = true)
+    int applyDelta(@Param("groupCartId") Long groupCartId, @Param("userId") Long userId,
+            @Param("menuItemId") Long menuItemId, @Param("delta") int delta, @Param("price") Double price);
+
+    @Modifying
+    @Query(value = "DELETE FROM group_cart_items WHERE group_cart_id = :groupCartId AND user_id = :userId "
+            + "AND menu_item_id = :menuItemId AND quantity <= 0", nativeQuery = true)
+    int deleteIfEmpty(@Param("groupCartId") Long groupCartId, @Param("userId") Long userId,
+            @Param("menuItemId") Long menuItemId);
+
+    // Locks the lines being checked out; edits to them wait for the checkout, and
+    // lines added meanwhile are left for the next one
+    @Query(value = "SELECT * FROM group_cart_items WHERE group_cart_id = :groupCartId ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<GroupCartItem> findForCheckout(@Param("groupCartId") Long groupCartId);
+
+    @Modifying
+    @Query(value = "DELETE FROM group_cart_items WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,22 @@
+package com.food.delivery.repository;
+
+import com.food.delivery.model.GroupCart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface GroupCartRepository extends JpaRepository<GroupCart, Long> {
+    Optional<GroupCart> findByShareCode(String shareCode);
+
+    boolean existsByIdAndParticipants_Id(Long id, Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO group_cart_participants (group_cart_id, user_id) VALUES (:groupCartId, :userId) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addParticipant(@Param("groupCartId") Long groupCartId, @Param("userId") Long userId);
+}
@@ -2,6 +2,9 @@ package com.food.delivery.repository;
 
 import com.food.delivery.model.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +12,9 @@ import java.util.List;
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     List<MenuItem> findByRestaurantId(Long restaurantId);
+
+    @Modifying
+    @Query("UPDATE MenuItem m SET m.available = :available WHERE m.restaurant.id = :restaurantId AND m.id IN :ids")
+    int updateAvailability(@Param("restaurantId") Long restaurantId, @Param("ids") List<Long> ids,
+            @Param("available") boolean available);
 }
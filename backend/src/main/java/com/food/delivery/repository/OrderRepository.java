@@ -3,6 +3,8 @@ package com.food.delivery.repository;
 import com.food.delivery.model.Order;
 import com.food.delivery.model.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,7 +15,12 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     List<Order> findByRestaurantIdOrderByCreatedAtDesc(Long restaurantId);
 
+    List<Order> findByUserIdAndStatusNotInOrderByCreatedAtDesc(Long userId, java.util.List<OrderStatus> statuses);
+
     List<Order> findByStatusInOrderByCreatedAtDesc(java.util.List<OrderStatus> statuses);
 
+    @Query("SELECT o.restaurant.id, COUNT(o) FROM Order o WHERE o.status IN :statuses GROUP BY o.restaurant.id")
+    List<Object[]> countByRestaurantAndStatusIn(@Param("statuses") java.util.List<OrderStatus> statuses);
+
     List<Order> findByDeliveryBoy(com.food.delivery.model.User deliveryBoy);
 }
@@ -0,0 +1,14 @@
+package com.food.delivery.repository;
+
+import com.food.delivery.model.Promotion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PromotionRepository extends JpaRepository<Promotion, Long> {
+    List<Promotion> findByActiveTrue();
+
+    boolean existsByCode(String code);
+}
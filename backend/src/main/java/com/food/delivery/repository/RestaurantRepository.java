@@ -1,7 +1,11 @@
 package com.food.delivery.repository;
 
+import com.food.delivery.dto.RestaurantSummary;
 import com.food.delivery.model.Restaurant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +19,13 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
     List<Restaurant> findByCuisineTypeContainingIgnoreCase(String cuisineType);
 
     List<Restaurant> findByOwnerId(Long ownerId);
+
+    // Selects card columns only, leaving out the description TEXT and the owner join
+    @Query("SELECT new com.food.delivery.dto.RestaurantSummary(r.id, r.name, r.cuisineType, r.avgRating, "
+            + "r.deliveryTime, r.imageUrl) FROM Restaurant r WHERE r.owner.id = :ownerId ORDER BY r.id")
+    List<RestaurantSummary> findSummariesByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Modifying
+    @Query("UPDATE Restaurant r SET r.maxActiveOrders = :maxActiveOrders WHERE r.id = :id")
+    int updateMaxActiveOrders(@Param("id") Long id, @Param("maxActiveOrders") Integer maxActiveOrders);
 }
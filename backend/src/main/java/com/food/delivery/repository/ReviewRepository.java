@@ -0,0 +1,41 @@
+package com.food.delivery.repository;
+
+import com.food.delivery.model.Review;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+    boolean existsByOrderId(Long orderId);
+
+    List<Review> findTop50ByRestaurantIdOrderByCreatedAtDesc(Long restaurantId);
+
+    // Postgres evaluates every SET expression against the old row, so the average
+    // is derived from the same increments in one atomic statement
+    @Modifying
+    @Query(value = "UPDATE restaurants SET rating_sum = rating_sum + :rating, "
+            + "rating_count = rating_count + 1, "
+            + "avg_rating = CAST(rating_sum + :rating AS DOUBLE PRECISION) / (rating_count + 1) "
+            + "WHERE id = :restaurantId", nativeQuery = true)
+    int addRating(@Param("restaurantId") Long restaurantId, @Param("rating") int rating);
+
+    // Rewrites only restaurants whose running totals drifted from the reviews table,
+    // including ones whose reviews are all gone; restaurants that never had a review
+    // keep their seed avg_rating since their totals are already zero
+    @Modifying
+    @Query(value = "UPDATE restaurants r SET rating_sum = COALESCE(agg.total, 0), "
+            + "rating_count = COALESCE(agg.cnt, 0), "
+            + "avg_rating = CASE WHEN agg.cnt > 0 THEN CAST(agg.total AS DOUBLE PRECISION) / agg.cnt "
+            + "ELSE 0 END "
+            + "FROM restaurants base LEFT JOIN (SELECT restaurant_id, SUM(rating) AS total, COUNT(*) AS cnt "
+            + "FROM reviews GROUP BY restaurant_id) agg ON agg.restaurant_id = base.id "
+            + "WHERE r.id = base.id "
+            + "AND (r.rating_sum <> COALESCE(agg.total, 0) OR r.rating_count <> COALESCE(agg.cnt, 0))",
+            nativeQuery = true)
+    int reconcileRatings();
+}
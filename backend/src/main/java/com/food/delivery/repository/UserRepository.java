@@ -2,6 +2,9 @@ package com.food.delivery.repository;
 
 import com.food.delivery.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +14,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    // Matches only while the flag is still false, and concurrent checkouts of the
+    // same user queue on the row lock, so exactly one transaction ever gets 1
+    @Modifying
+    @Query(value = "UPDATE users SET has_ordered = TRUE WHERE id = :userId AND has_ordered = FALSE",
+            nativeQuery = true)
+    int markOrdered(@Param("userId") Long userId);
 }
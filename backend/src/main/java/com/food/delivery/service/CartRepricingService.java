@@ -0,0 +1,60 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.CartRepricingStats;
+import com.food.delivery.dto.RepricingResult;
+import com.food.delivery.event.MenuItemPriceChangedEvent;
+import com.food.delivery.repository.CartRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class CartRepricingService {
+
+    private static final Logger log = LoggerFactory.getLogger(CartRepricingService.class);
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    private final AtomicLong totalRuns = new AtomicLong();
+    private final AtomicLong totalCartsTouched = new AtomicLong();
+    private final AtomicLong totalItemsTouched = new AtomicLong();
+    private final AtomicLong totalElapsedMs = new AtomicLong();
+    private volatile CartRepricingStats stats = new CartRepricingStats();
+
+    // Runs once the menu update has committed, in its own transaction, so open
+    // carts never see a price the menu does not have yet.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPriceChanged(MenuItemPriceChangedEvent event) {
+        repriceMenuItem(event.getMenuItemId(), event.getNewPrice());
+    }
+
+    @Transactional
+    public RepricingResult repriceMenuItem(Long menuItemId, Double newPrice) {
+        long start = System.nanoTime();
+        int cartsTouched = cartRepository.repriceTotals(menuItemId, newPrice);
+        int itemsTouched = cartRepository.repriceItems(menuItemId, newPrice);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Repriced menu item {} to {}: {} carts, {} cart items in {} ms",
+                menuItemId, newPrice, cartsTouched, itemsTouched, elapsedMs);
+        RepricingResult result = new RepricingResult(menuItemId, cartsTouched, itemsTouched, elapsedMs);
+        stats = new CartRepricingStats(LocalDateTime.now(), result, totalRuns.incrementAndGet(),
+                totalCartsTouched.addAndGet(cartsTouched), totalItemsTouched.addAndGet(itemsTouched),
+                totalElapsedMs.addAndGet(elapsedMs));
+        return result;
+    }
+
+    public CartRepricingStats getStats() {
+        return stats;
+    }
+}
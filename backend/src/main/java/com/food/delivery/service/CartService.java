@@ -25,23 +25,62 @@ public class CartService {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private MenuAvailabilityService menuAvailabilityService;
+
+    @Autowired
+    private MenuStockService menuStockService;
+
+    // Read path: never writes. Users without a cart get an empty, unsaved one.
     public Cart getCart(String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return getCart(user);
+    }
+
+    public Cart getCart(User user) {
+        return cartRepository.findByUserId(user.getId())
+                .orElseGet(() -> emptyCart(user));
+    }
+
+    private static Cart emptyCart(User user) {
+        Cart emptyCart = new Cart();
+        emptyCart.setUser(user);
+        return emptyCart;
+    }
+
+    private Cart getOrCreateCart(String userEmail) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         return cartRepository.findByUserId(user.getId())
                 .orElseGet(() -> {
-                    Cart newCart = new Cart();
-                    newCart.setUser(user);
-                    return cartRepository.save(newCart);
+                    cartRepository.insertIfAbsent(user.getId());
+                    return cartRepository.findByUserId(user.getId())
+                            .orElseThrow(() -> new RuntimeException("Cart could not be created"));
                 });
     }
 
+    private Optional<Cart> findCart(String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return cartRepository.findByUserId(user.getId());
+    }
+
     @Transactional
     public Cart addToCart(String userEmail, Long menuItemId, Integer quantity) {
-        Cart cart = getCart(userEmail);
+        Cart cart = getOrCreateCart(userEmail);
         MenuItem menuItem = menuItemRepository.findById(menuItemId)
                 .orElseThrow(() -> new RuntimeException("Menu item not found"));
+        if (!menuAvailabilityService.isAvailable(menuItem.getRestaurant().getId(), menuItemId)) {
+            throw new RuntimeException("Menu item is not available");
+        }
+        // Early hint only; stock is actually reserved at checkout
+        Integer stockLeft = menuStockService.getAvailable(menuItemId);
+        if (stockLeft != null && stockLeft < quantity) {
+            throw new RuntimeException(stockLeft > 0 ? "Only " + stockLeft + " left of " + menuItem.getName()
+                    : menuItem.getName() + " is sold out");
+        }
 
         // Check if item already exists in cart
         Optional<CartItem> existingItem = cart.getItems().stream()
@@ -65,7 +104,13 @@ public class CartService {
 
     @Transactional
     public Cart removeFromCart(String userEmail, Long cartItemId) {
-        Cart cart = getCart(userEmail);
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        Optional<Cart> existingCart = cartRepository.findByUserId(user.getId());
+        if (existingCart.isEmpty()) {
+            return emptyCart(user);
+        }
+        Cart cart = existingCart.get();
         cart.getItems().removeIf(item -> item.getId().equals(cartItemId));
         cart.calculateTotal();
         return cartRepository.save(cart);
@@ -73,15 +118,17 @@ public class CartService {
 
     @Transactional
     public void clearCart(String userEmail) {
-        Cart cart = getCart(userEmail);
-        cart.getItems().clear();
-        cart.setTotalAmount(0.0);
-        cartRepository.save(cart);
+        findCart(userEmail).ifPresent(cart -> {
+            cart.getItems().clear();
+            cart.setTotalAmount(0.0);
+            cartRepository.save(cart);
+        });
     }
 
     @Transactional
     public Cart updateCartItemQuantity(String userEmail, Long cartItemId, Integer quantity) {
-        Cart cart = getCart(userEmail);
+        Cart cart = findCart(userEmail)
+                .orElseThrow(() -> new RuntimeException("Cart item not found"));
 
         Optional<CartItem> cartItem = cart.getItems().stream()
                 .filter(item -> item.getId().equals(cartItemId))
@@ -0,0 +1,85 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.CartSweepStats;
+import com.food.delivery.repository.CartRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class CartSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(CartSweeper.class);
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.cart.ttl-hours:168}")
+    private long ttlHours;
+
+    @Value("${app.cart.sweep-batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.cart.sweep-max-batches:200}")
+    private int maxBatches;
+
+    private final AtomicLong totalCartsDeleted = new AtomicLong();
+    private final AtomicLong totalItemsDeleted = new AtomicLong();
+    private volatile CartSweepStats lastRun = new CartSweepStats();
+
+    @Scheduled(fixedDelayString = "${app.cart.sweep-interval-ms:600000}",
+            initialDelayString = "${app.cart.sweep-interval-ms:600000}")
+    public void sweepExpiredCarts() {
+        long start = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(ttlHours);
+        TransactionTemplate batchTx = new TransactionTemplate(transactionManager);
+
+        int batches = 0;
+        int cartsDeleted = 0;
+        int itemsDeleted = 0;
+        int lastBatch;
+        do {
+            // One short transaction per batch keeps locks brief for live cart traffic
+            int[] deleted = batchTx.execute(status -> deleteBatch(cutoff));
+            lastBatch = deleted[0];
+            cartsDeleted += deleted[0];
+            itemsDeleted += deleted[1];
+            batches++;
+        } while (lastBatch == batchSize && batches < maxBatches);
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        lastRun = new CartSweepStats(LocalDateTime.now(), batches, cartsDeleted, itemsDeleted, elapsedMs,
+                totalCartsDeleted.addAndGet(cartsDeleted), totalItemsDeleted.addAndGet(itemsDeleted));
+
+        if (cartsDeleted > 0) {
+            log.info("Cart sweep reclaimed {} carts and {} cart items in {} batches ({} ms)",
+                    cartsDeleted, itemsDeleted, batches, elapsedMs);
+        }
+    }
+
+    private int[] deleteBatch(LocalDateTime cutoff) {
+        List<Long> cartIds = cartRepository.lockExpiredCartIds(cutoff, batchSize);
+        if (cartIds.isEmpty()) {
+            return new int[] { 0, 0 };
+        }
+        int items = cartRepository.deleteItemsByCartIds(cartIds);
+        int carts = cartRepository.deleteByCartIds(cartIds);
+        return new int[] { carts, items };
+    }
+
+    public CartSweepStats getStats() {
+        return lastRun;
+    }
+}
@@ -0,0 +1,165 @@
+package com.food.delivery.service;
+
+import com.food.delivery.event.CatalogChangedEvent;
+import com.food.delivery.event.CatalogRefreshedEvent;
+import com.food.delivery.event.RatingChangedEvent;
+import com.food.delivery.model.MenuItem;
+import com.food.delivery.model.Restaurant;
+import com.food.delivery.repository.MenuItemRepository;
+import com.food.delivery.repository.RestaurantRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+// Holds the current catalog snapshot. Readers take the reference without locking;
+// writers rebuild the affected restaurant after its transaction commits and swap
+// in a new snapshot. Derived indexes follow along via CatalogRefreshedEvent, which
+// is handed to a single indexing thread in swap order: they see changes in order,
+// and neither the writer lock nor the committing request waits on them. A full
+// reload does wait, so indexes are populated before the first request reads them.
+@Component
+public class CatalogCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogCache.class);
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Versions restart on every boot, so tags carry the boot time to stay unique
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private volatile CatalogSnapshot current;
+
+    // Restaurants rated since the last ratings refresh
+    private final Set<Long> ratingsChanged = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot snapshot = current;
+        return snapshot != null ? snapshot : reload();
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public CatalogSnapshot reload() {
+        CatalogSnapshot snapshot;
+        Future<?> indexed;
+        synchronized (this) {
+            List<Restaurant> restaurants = restaurantRepository.findAll();
+            Map<Long, List<MenuItem>> menus = menuItemRepository.findAll().stream()
+                    .collect(Collectors.groupingBy(item -> item.getRestaurant().getId()));
+            long version = current != null ? current.getVersion() + 1 : 1;
+            snapshot = CatalogSnapshot.of(version, restaurants, menus);
+            current = snapshot;
+            indexed = publish(new CatalogRefreshedEvent(snapshot, null));
+        }
+        try {
+            indexed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Already logged on the indexing thread; the snapshot itself is in place
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (current == null) {
+            reload();
+            return;
+        }
+        Long restaurantId = event.getRestaurantId();
+        synchronized (this) {
+            Restaurant restaurant = restaurantRepository.findById(restaurantId).orElse(null);
+            List<MenuItem> menu = restaurant != null ? menuItemRepository.findByRestaurantId(restaurantId) : List.of();
+            current = current.withRestaurant(restaurantId, restaurant, menu);
+            publish(new CatalogRefreshedEvent(current, restaurantId));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRatingChanged(RatingChangedEvent event) {
+        ratingsChanged.add(event.getRestaurantId());
+    }
+
+    // Reviews arrive far more often than anyone needs a fresh average, so new ratings
+    // are folded in once per interval: one snapshot version and one catalog ETag
+    // change for the whole batch, instead of a rebuild per review. The indexes get a
+    // per-restaurant delta for each rated restaurant, all against the same snapshot.
+    @Scheduled(fixedDelayString = "${app.reviews.rating-refresh-interval-ms:30000}")
+    @Transactional(readOnly = true)
+    public void refreshRatings() {
+        if (current == null || ratingsChanged.isEmpty()) {
+            return;
+        }
+        // Ids are taken before the read, so a rating committed meanwhile is either
+        // read now or queued again for the next batch
+        List<Long> ids = new ArrayList<>(ratingsChanged);
+        ratingsChanged.removeAll(ids);
+        synchronized (this) {
+            List<Restaurant> restaurants = restaurantRepository.findAllById(ids);
+            if (restaurants.isEmpty()) {
+                return;
+            }
+            current = current.withRestaurants(restaurants);
+            for (Restaurant restaurant : restaurants) {
+                publish(new CatalogRefreshedEvent(current, restaurant.getId(), true));
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        indexer.shutdownNow();
+    }
+
+    // Called with the lock held, so events are queued in the order snapshots were swapped in
+    private Future<?> publish(CatalogRefreshedEvent event) {
+        return indexer.submit(() -> {
+            try {
+                eventPublisher.publishEvent(event);
+            } catch (RuntimeException e) {
+                log.error("Catalog index update for restaurant {} failed", event.getRestaurantId(), e);
+                throw e;
+            }
+        });
+    }
+}
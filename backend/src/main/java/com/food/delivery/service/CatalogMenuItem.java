@@ -0,0 +1,14 @@
+package com.food.delivery.service;
+
+import com.food.delivery.model.MenuItem;
+
+// Catalog copy of a menu item row; see CatalogRestaurant
+public record CatalogMenuItem(Long id, Long restaurantId, String name, String description, Double price,
+        boolean veg, String imageUrl, boolean available, Integer stockQuantity) {
+
+    public static CatalogMenuItem from(MenuItem item) {
+        return new CatalogMenuItem(item.getId(), item.getRestaurant().getId(), item.getName(),
+                item.getDescription(), item.getPrice(), item.isVeg(), item.getImageUrl(), item.isAvailable(),
+                item.getStockQuantity());
+    }
+}
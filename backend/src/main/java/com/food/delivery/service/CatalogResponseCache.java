@@ -0,0 +1,102 @@
+package com.food.delivery.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+// Serialized (and gzipped) catalog responses, one entry per endpoint and resource.
+// An entry is reused while its ETag matches the current catalog version and is
+// rebuilt the first time it is requested after a change. Callers key entries on
+// normalized inputs only, and the map is capped as an LRU so it stays bounded
+// however many restaurants are browsed.
+@Component
+public class CatalogResponseCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.catalog.response-cache-max-entries:1000}")
+    private int maxEntries;
+
+    private final Map<String, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    // Serialization runs outside the lock; two racing misses both build and the
+    // later one wins, which is harmless since they carry the same ETag
+    public CachedResponse get(String key, String etag, Supplier<Object> body) {
+        synchronized (entries) {
+            CachedResponse cached = entries.get(key);
+            if (cached != null && cached.getEtag().equals(etag)) {
+                return cached;
+            }
+        }
+        CachedResponse fresh = build(etag, body.get());
+        synchronized (entries) {
+            entries.put(key, fresh);
+        }
+        return fresh;
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private CachedResponse build(String etag, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new CachedResponse(etag, json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize catalog response", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static final class CachedResponse {
+        private final String etag;
+        private final byte[] json;
+        private final byte[] gzipped;
+
+        private CachedResponse(String etag, byte[] json, byte[] gzipped) {
+            this.etag = etag;
+            this.json = json;
+            this.gzipped = gzipped;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public byte[] getGzipped() {
+            return gzipped;
+        }
+    }
+}
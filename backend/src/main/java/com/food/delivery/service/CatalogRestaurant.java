@@ -0,0 +1,18 @@
+package com.food.delivery.service;
+
+import com.food.delivery.model.Restaurant;
+
+// Catalog copy of a restaurant row: plain values, no owner and no link back to the
+// persistence context, so snapshots can be shared across threads as they are
+public record CatalogRestaurant(Long id, String name, String description, String address, String cuisineType,
+        String imageUrl, Double avgRating, long ratingCount, Integer deliveryTime, Double latitude,
+        Double longitude, Double deliveryRadiusKm, boolean active) {
+
+    public static CatalogRestaurant from(Restaurant restaurant) {
+        return new CatalogRestaurant(restaurant.getId(), restaurant.getName(), restaurant.getDescription(),
+                restaurant.getAddress(), restaurant.getCuisineType(), restaurant.getImageUrl(),
+                restaurant.getAvgRating(), restaurant.getRatingCount(), restaurant.getDeliveryTime(),
+                restaurant.getLatitude(), restaurant.getLongitude(), restaurant.getDeliveryRadiusKm(),
+                restaurant.isActive());
+    }
+}
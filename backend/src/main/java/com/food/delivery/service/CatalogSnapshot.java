@@ -0,0 +1,168 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.RestaurantSort;
+import com.food.delivery.dto.RestaurantSummary;
+import com.food.delivery.model.MenuItem;
+import com.food.delivery.model.Restaurant;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable view of all restaurants and menus, held as plain value copies rather
+// than entities. Never modified after construction; changes produce a new
+// snapshot that replaces the old one.
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final Map<Long, Entry> entries;
+    private final Map<RestaurantSort, List<RestaurantSummary>> sortedSummaries;
+
+    private record Entry(CatalogRestaurant restaurant, List<CatalogMenuItem> menu, long version,
+            RestaurantSummary summary) {
+    }
+
+    private CatalogSnapshot(long version, Map<Long, Entry> entries,
+            Map<RestaurantSort, List<RestaurantSummary>> sortedSummaries) {
+        this.version = version;
+        this.entries = entries;
+        this.sortedSummaries = sortedSummaries;
+    }
+
+    public static CatalogSnapshot of(long version, Collection<Restaurant> restaurants,
+            Map<Long, List<MenuItem>> menus) {
+        Map<Long, Entry> entries = new HashMap<>();
+        List<RestaurantSummary> active = new ArrayList<>();
+        for (Restaurant restaurant : restaurants) {
+            Entry entry = entry(restaurant, menus.getOrDefault(restaurant.getId(), List.of()), version);
+            entries.put(restaurant.getId(), entry);
+            if (entry.summary() != null) {
+                active.add(entry.summary());
+            }
+        }
+        Map<RestaurantSort, List<RestaurantSummary>> sorted = new EnumMap<>(RestaurantSort.class);
+        for (RestaurantSort sort : RestaurantSort.values()) {
+            sorted.put(sort, active.stream().sorted(sort.getComparator()).toList());
+        }
+        return new CatalogSnapshot(version, Collections.unmodifiableMap(entries), sorted);
+    }
+
+    // A per-restaurant delta: the entry map is copied by reference and each sorted
+    // list has the old card cut out and the new one inserted by binary search, so
+    // nothing is re-sorted or re-summarized. A null restaurant removes the entry.
+    // The restaurant's version becomes the new global version, so per-restaurant
+    // versions only ever move forward.
+    public CatalogSnapshot withRestaurant(Long restaurantId, Restaurant restaurant, List<MenuItem> menu) {
+        long nextVersion = version + 1;
+        Entry previous = entries.get(restaurantId);
+        Entry next = restaurant != null ? entry(restaurant, menu, nextVersion) : null;
+
+        Map<Long, Entry> nextEntries = new HashMap<>(entries);
+        if (next == null) {
+            nextEntries.remove(restaurantId);
+        } else {
+            nextEntries.put(restaurantId, next);
+        }
+        RestaurantSummary removed = previous != null ? previous.summary() : null;
+        RestaurantSummary added = next != null ? next.summary() : null;
+        Map<RestaurantSort, List<RestaurantSummary>> nextSorted = new EnumMap<>(RestaurantSort.class);
+        sortedSummaries.forEach((sort, list) -> nextSorted.put(sort, splice(list, removed, added, sort.getComparator())));
+        return new CatalogSnapshot(nextVersion, Collections.unmodifiableMap(nextEntries), nextSorted);
+    }
+
+    // Refreshes several restaurant rows at once, keeping their menus, under a single
+    // version bump. Restaurants not in the snapshot are left to their own catalog event.
+    public CatalogSnapshot withRestaurants(Collection<Restaurant> restaurants) {
+        long nextVersion = version + 1;
+        Map<Long, Entry> nextEntries = new HashMap<>(entries);
+        Map<RestaurantSort, List<RestaurantSummary>> nextSorted = new EnumMap<>(RestaurantSort.class);
+        sortedSummaries.forEach((sort, list) -> nextSorted.put(sort, new ArrayList<>(list)));
+        for (Restaurant restaurant : restaurants) {
+            Entry previous = entries.get(restaurant.getId());
+            if (previous == null) {
+                continue;
+            }
+            CatalogRestaurant copy = CatalogRestaurant.from(restaurant);
+            Entry next = new Entry(copy, previous.menu(), nextVersion,
+                    copy.active() ? RestaurantSummary.from(copy) : null);
+            nextEntries.put(restaurant.getId(), next);
+            nextSorted.forEach((sort, list) -> spliceInto(list, previous.summary(), next.summary(),
+                    sort.getComparator()));
+        }
+        nextSorted.replaceAll((sort, list) -> Collections.unmodifiableList(list));
+        return new CatalogSnapshot(nextVersion, Collections.unmodifiableMap(nextEntries), nextSorted);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Long getRestaurantVersion(Long restaurantId) {
+        Entry entry = entries.get(restaurantId);
+        return entry != null ? entry.version() : null;
+    }
+
+    // Built on demand in id order; meant for full index rebuilds, not request paths
+    public List<CatalogRestaurant> getActiveRestaurants() {
+        return entries.values().stream()
+                .map(Entry::restaurant)
+                .filter(CatalogRestaurant::active)
+                .sorted(Comparator.comparing(CatalogRestaurant::id))
+                .toList();
+    }
+
+    public List<RestaurantSummary> getActiveSummaries() {
+        return sortedSummaries.get(RestaurantSort.ID);
+    }
+
+    public List<RestaurantSummary> getActiveSummaries(RestaurantSort sort) {
+        return sortedSummaries.get(sort);
+    }
+
+    public CatalogRestaurant getRestaurant(Long restaurantId) {
+        Entry entry = entries.get(restaurantId);
+        return entry != null ? entry.restaurant() : null;
+    }
+
+    public List<CatalogRestaurant> getAllRestaurants() {
+        return entries.values().stream().map(Entry::restaurant).toList();
+    }
+
+    public List<CatalogMenuItem> getMenu(Long restaurantId) {
+        Entry entry = entries.get(restaurantId);
+        return entry != null ? entry.menu() : List.of();
+    }
+
+    private static Entry entry(Restaurant restaurant, List<MenuItem> menu, long version) {
+        CatalogRestaurant copy = CatalogRestaurant.from(restaurant);
+        List<CatalogMenuItem> items = menu.stream().map(CatalogMenuItem::from).toList();
+        return new Entry(copy, items, version, copy.active() ? RestaurantSummary.from(copy) : null);
+    }
+
+    private static List<RestaurantSummary> splice(List<RestaurantSummary> sorted, RestaurantSummary removed,
+            RestaurantSummary added, Comparator<RestaurantSummary> order) {
+        List<RestaurantSummary> next = new ArrayList<>(sorted.size() + 1);
+        next.addAll(sorted);
+        spliceInto(next, removed, added, order);
+        return Collections.unmodifiableList(next);
+    }
+
+    private static void spliceInto(List<RestaurantSummary> sorted, RestaurantSummary removed,
+            RestaurantSummary added, Comparator<RestaurantSummary> order) {
+        if (removed != null) {
+            int index = Collections.binarySearch(sorted, removed, order);
+            if (index >= 0) {
+                sorted.remove(index);
+            }
+        }
+        if (added != null) {
+            int index = Collections.binarySearch(sorted, added, order);
+            sorted.add(index >= 0 ? index : -index - 1, added);
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.food.delivery.service;
 
+import com.food.delivery.event.OrderStatusChangedEvent;
 import com.food.delivery.model.Order;
 import com.food.delivery.model.OrderStatus;
 import com.food.delivery.model.User;
 import com.food.delivery.repository.OrderRepository;
 import com.food.delivery.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -19,17 +22,25 @@ public class DeliveryService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Order> getAssignedOrders(Long deliveryBoyId) {
         User deliveryBoy = userRepository.findById(deliveryBoyId)
                 .orElseThrow(() -> new RuntimeException("Delivery Boy not found"));
         return orderRepository.findByDeliveryBoy(deliveryBoy);
     }
 
+    @Transactional
     public Order updateOrderStatus(Long orderId, OrderStatus status) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(status);
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(saved.getId(), saved.getRestaurant().getId(),
+                previousStatus, status));
+        return saved;
     }
 
     public List<Order> getAvailableOrders() {
@@ -0,0 +1,156 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.DeliveryZoneRequest;
+import com.food.delivery.dto.DeliveryZoneResponse;
+import com.food.delivery.event.DeliveryZonesChangedEvent;
+import com.food.delivery.model.DeliveryZone;
+import com.food.delivery.model.Restaurant;
+import com.food.delivery.repository.DeliveryZoneRepository;
+import com.food.delivery.repository.RestaurantRepository;
+import com.food.delivery.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class DeliveryZoneService {
+
+    @Autowired
+    private DeliveryZoneRepository deliveryZoneRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private RestaurantGeoIndex geoIndex;
+
+    // Zones change rarely, so the whole tree is rebuilt and swapped on each change
+    private volatile ZoneRTree tree = new ZoneRTree(List.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        rebuildIndex();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onZonesChanged(DeliveryZonesChangedEvent event) {
+        rebuildIndex();
+    }
+
+    private synchronized void rebuildIndex() {
+        List<ZoneRTree.Zone> zones = new ArrayList<>();
+        for (DeliveryZone zone : deliveryZoneRepository.findAll()) {
+            List<List<Double>> points = parse(zone.getPolygon());
+            double[] lats = new double[points.size()];
+            double[] lngs = new double[points.size()];
+            for (int i = 0; i < points.size(); i++) {
+                lats[i] = points.get(i).get(0);
+                lngs[i] = points.get(i).get(1);
+            }
+            zones.add(new ZoneRTree.Zone(zone.getRestaurant().getId(), lats, lngs));
+        }
+        tree = new ZoneRTree(zones);
+    }
+
+    // Restaurants with a zone containing the point; see isServiceable for the others
+    public Set<Long> getRestaurantsServing(double lat, double lng) {
+        return tree.restaurantsServing(lat, lng);
+    }
+
+    public boolean hasZones(Long restaurantId) {
+        return tree.hasZones(restaurantId);
+    }
+
+    // The one delivery rule, shared by checkout and GET /serving: a restaurant with
+    // zones serves exactly its zones; one without zones serves its delivery radius;
+    // and if the restaurant or the point has no coordinates there is nothing to
+    // measure, so a zone-less restaurant is not restricted
+    public boolean isServiceable(CatalogRestaurant restaurant, Double lat, Double lng) {
+        ZoneRTree current = tree;
+        if (current.hasZones(restaurant.id())) {
+            return GeoUtils.isValid(lat, lng) && current.serves(restaurant.id(), lat, lng);
+        }
+        if (!GeoUtils.isValid(lat, lng) || !GeoUtils.isValid(restaurant.latitude(), restaurant.longitude())) {
+            return true;
+        }
+        return geoIndex.delivers(restaurant, lat, lng);
+    }
+
+    public List<DeliveryZoneResponse> getZones(Long restaurantId) {
+        return deliveryZoneRepository.findByRestaurantId(restaurantId).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public DeliveryZoneResponse addZone(String ownerEmail, Long restaurantId, DeliveryZoneRequest request) {
+        Restaurant restaurant = getOwnedRestaurant(ownerEmail, restaurantId);
+        List<List<Double>> points = request.getPoints();
+        if (points == null || points.size() < 3) {
+            throw new RuntimeException("A delivery zone needs at least 3 points");
+        }
+        for (List<Double> point : points) {
+            if (point == null || point.size() != 2 || !GeoUtils.isValid(point.get(0), point.get(1))) {
+                throw new RuntimeException("Invalid delivery zone point: " + point);
+            }
+        }
+
+        DeliveryZone zone = new DeliveryZone();
+        zone.setRestaurant(restaurant);
+        zone.setName(request.getName());
+        zone.setPolygon(points.stream()
+                .map(point -> point.get(0) + " " + point.get(1))
+                .collect(Collectors.joining(",")));
+        DeliveryZone saved = deliveryZoneRepository.save(zone);
+        eventPublisher.publishEvent(new DeliveryZonesChangedEvent(restaurantId));
+        return mapToResponse(saved);
+    }
+
+    @Transactional
+    public void deleteZone(String ownerEmail, Long restaurantId, Long zoneId) {
+        getOwnedRestaurant(ownerEmail, restaurantId);
+        DeliveryZone zone = deliveryZoneRepository.findById(zoneId)
+                .filter(z -> z.getRestaurant().getId().equals(restaurantId))
+                .orElseThrow(() -> new RuntimeException("Delivery zone not found"));
+        deliveryZoneRepository.delete(zone);
+        eventPublisher.publishEvent(new DeliveryZonesChangedEvent(restaurantId));
+    }
+
+    private Restaurant getOwnedRestaurant(String ownerEmail, Long restaurantId) {
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+        if (restaurant.getOwner() == null || !restaurant.getOwner().getEmail().equals(ownerEmail)) {
+            throw new RuntimeException("Unauthorized");
+        }
+        return restaurant;
+    }
+
+    private DeliveryZoneResponse mapToResponse(DeliveryZone zone) {
+        return new DeliveryZoneResponse(zone.getId(), zone.getRestaurant().getId(), zone.getName(),
+                parse(zone.getPolygon()));
+    }
+
+    private static List<List<Double>> parse(String polygon) {
+        List<List<Double>> points = new ArrayList<>();
+        for (String pair : polygon.split(",")) {
+            String[] parts = pair.trim().split("\\s+");
+            points.add(List.of(Double.parseDouble(parts[0]), Double.parseDouble(parts[1])));
+        }
+        return points;
+    }
+}
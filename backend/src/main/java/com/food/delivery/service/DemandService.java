@@ -0,0 +1,155 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.ZoneLoad;
+import com.food.delivery.event.OrderPlacedEvent;
+import com.food.delivery.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Live demand and rider supply per delivery zone, a square grid cell around the
+// drop-off point. Orders feed a one-minute sliding window and riders check in with
+// their position, so pricing a delivery is a constant-time read of one zone.
+@Service
+public class DemandService {
+
+    private static final long NO_ZONE = Long.MIN_VALUE;
+    private static final long LNG_OFFSET = 1L << 30; // keeps the packed longitude cell non-negative
+
+    @Value("${app.demand.cell-degrees:0.02}")
+    private double cellDegrees;
+
+    @Value("${app.demand.rider-ttl-ms:300000}")
+    private long riderTtlMs;
+
+    @Value("${app.fees.base:30}")
+    private double baseFee;
+
+    @Value("${app.fees.orders-per-rider-per-minute:0.5}")
+    private double ordersPerRiderPerMinute;
+
+    @Value("${app.fees.max-surge:2.0}")
+    private double maxSurge;
+
+    private final Map<Long, ZoneDemand> zones = new ConcurrentHashMap<>();
+    private final Map<Long, RiderPosition> riders = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        long zone = zoneOf(event.getLatitude(), event.getLongitude());
+        if (zone != NO_ZONE) {
+            zone(zone).orders.increment(System.currentTimeMillis() / 1000);
+        }
+    }
+
+    // Riders re-send this while online; going offline or falling silent frees the slot
+    public void updateRider(Long riderId, boolean online, Double latitude, Double longitude) {
+        long zone = online ? zoneOf(latitude, longitude) : NO_ZONE;
+        if (online && zone == NO_ZONE) {
+            throw new RuntimeException("Valid coordinates are required to go online");
+        }
+        riders.compute(riderId, (id, previous) -> {
+            if (previous != null) {
+                zone(previous.zone).riders.decrementAndGet();
+            }
+            if (!online) {
+                return null;
+            }
+            zone(zone).riders.incrementAndGet();
+            return new RiderPosition(zone, System.currentTimeMillis());
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.demand.rider-sweep-interval-ms:60000}")
+    public void expireSilentRiders() {
+        long cutoff = System.currentTimeMillis() - riderTtlMs;
+        for (Long riderId : new ArrayList<>(riders.keySet())) {
+            riders.computeIfPresent(riderId, (id, position) -> {
+                if (position.lastSeen >= cutoff) {
+                    return position;
+                }
+                zone(position.zone).riders.decrementAndGet();
+                return null;
+            });
+        }
+    }
+
+    // Base fee scaled by how far orders outrun what the zone's riders can carry
+    public double quoteFee(Double latitude, Double longitude) {
+        long zone = zoneOf(latitude, longitude);
+        if (zone == NO_ZONE) {
+            return baseFee;
+        }
+        ZoneDemand demand = zones.get(zone);
+        return demand == null ? baseFee : fee(surge(demand, System.currentTimeMillis() / 1000));
+    }
+
+    public ZoneLoad getLoad(Double latitude, Double longitude) {
+        long zone = zoneOf(latitude, longitude);
+        if (zone == NO_ZONE) {
+            throw new RuntimeException("Valid coordinates are required");
+        }
+        return load(zone, zones.getOrDefault(zone, new ZoneDemand()), System.currentTimeMillis() / 1000);
+    }
+
+    public List<ZoneLoad> getActiveZones() {
+        long now = System.currentTimeMillis() / 1000;
+        List<ZoneLoad> loads = new ArrayList<>();
+        zones.forEach((zone, demand) -> {
+            ZoneLoad load = load(zone, demand, now);
+            if (load.getOrdersPerMinute() > 0 || load.getAvailableRiders() > 0) {
+                loads.add(load);
+            }
+        });
+        loads.sort(Comparator.comparingDouble(ZoneLoad::getSurgeMultiplier).reversed());
+        return loads;
+    }
+
+    private ZoneLoad load(long zone, ZoneDemand demand, long now) {
+        double surge = surge(demand, now);
+        long latCell = zone >> 32;
+        long lngCell = (zone & 0xFFFFFFFFL) - LNG_OFFSET;
+        return new ZoneLoad(zone, (latCell + 0.5) * cellDegrees, (lngCell + 0.5) * cellDegrees,
+                demand.orders.sum(now), Math.max(0, demand.riders.get()), surge, fee(surge));
+    }
+
+    private double surge(ZoneDemand demand, long now) {
+        double capacity = Math.max(1, demand.riders.get()) * ordersPerRiderPerMinute;
+        double pressure = demand.orders.sum(now) / capacity;
+        return Math.round(Math.min(maxSurge, Math.max(1.0, pressure)) * 100) / 100.0;
+    }
+
+    private double fee(double surge) {
+        return Math.round(baseFee * surge * 100) / 100.0;
+    }
+
+    private long zoneOf(Double latitude, Double longitude) {
+        if (!GeoUtils.isValid(latitude, longitude)) {
+            return NO_ZONE;
+        }
+        long latCell = (long) Math.floor(latitude / cellDegrees);
+        long lngCell = (long) Math.floor(longitude / cellDegrees);
+        return (latCell << 32) | (lngCell + LNG_OFFSET);
+    }
+
+    private ZoneDemand zone(long zone) {
+        return zones.computeIfAbsent(zone, z -> new ZoneDemand());
+    }
+
+    private static final class ZoneDemand {
+        private final SlidingWindowCounter orders = new SlidingWindowCounter();
+        private final AtomicInteger riders = new AtomicInteger();
+    }
+
+    private record RiderPosition(long zone, long lastSeen) {
+    }
+}
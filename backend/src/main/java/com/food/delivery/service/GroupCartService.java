@@ -0,0 +1,184 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.CheckoutResponse;
+import com.food.delivery.dto.GroupCartResponse;
+import com.food.delivery.model.CartItem;
+import com.food.delivery.model.GroupCart;
+import com.food.delivery.model.GroupCartItem;
+import com.food.delivery.model.MenuItem;
+import com.food.delivery.model.PaymentMethod;
+import com.food.delivery.model.User;
+import com.food.delivery.repository.GroupCartItemRepository;
+import com.food.delivery.repository.GroupCartRepository;
+import com.food.delivery.repository.MenuItemRepository;
+import com.food.delivery.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class GroupCartService {
+
+    @Autowired
+    private GroupCartRepository groupCartRepository;
+
+    @Autowired
+    private GroupCartItemRepository groupCartItemRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private MenuAvailabilityService menuAvailabilityService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Transactional
+    public GroupCartResponse createGroupCart(String userEmail) {
+        User owner = getUser(userEmail);
+
+        GroupCart groupCart = new GroupCart();
+        groupCart.setOwner(owner);
+        groupCart.setShareCode(UUID.randomUUID().toString().replace("-", "").substring(0, 10).toUpperCase());
+        GroupCart saved = groupCartRepository.save(groupCart);
+        groupCartRepository.addParticipant(saved.getId(), owner.getId());
+
+        return buildResponse(saved);
+    }
+
+    @Transactional
+    public GroupCartResponse joinGroupCart(String userEmail, String shareCode) {
+        User user = getUser(userEmail);
+        GroupCart groupCart = groupCartRepository.findByShareCode(shareCode)
+                .orElseThrow(() -> new RuntimeException("Group cart not found"));
+        groupCartRepository.addParticipant(groupCart.getId(), user.getId());
+        return buildResponse(groupCart);
+    }
+
+    @Transactional(readOnly = true)
+    public GroupCartResponse getGroupCart(String userEmail, Long groupCartId) {
+        return buildResponse(getParticipantCart(getUser(userEmail), groupCartId));
+    }
+
+    // Applies a quantity delta (negative to remove) to the caller's own line for
+    // the item; no other participant's rows are read or locked
+    @Transactional
+    public GroupCartResponse updateItem(String userEmail, Long groupCartId, Long menuItemId, Integer delta) {
+        if (delta == null || delta == 0) {
+            throw new RuntimeException("Quantity change must be non-zero");
+        }
+        User user = getUser(userEmail);
+        GroupCart groupCart = getParticipantCart(user, groupCartId);
+        MenuItem menuItem = menuItemRepository.findById(menuItemId)
+                .orElseThrow(() -> new RuntimeException("Menu item not found"));
+        if (delta > 0 && !menuAvailabilityService.isAvailable(menuItem.getRestaurant().getId(), menuItemId)) {
+            throw new RuntimeException("Menu item is not available");
+        }
+
+        groupCartItemRepository.applyDelta(groupCartId, user.getId(), menuItemId, delta, menuItem.getPrice());
+        if (delta < 0) {
+            groupCartItemRepository.deleteIfEmpty(groupCartId, user.getId(), menuItemId);
+        }
+        return buildResponse(groupCart);
+    }
+
+    // The owner places every participant's lines as one checkout, paying for all of
+    // them; only the lines read here are removed, so anything added during the
+    // checkout stays in the group cart
+    @Transactional
+    public CheckoutResponse checkout(String userEmail, Long groupCartId, Long addressId,
+            PaymentMethod paymentMethod, String couponCode) {
+        User user = getUser(userEmail);
+        GroupCart groupCart = getParticipantCart(user, groupCartId);
+        if (!groupCart.getOwner().getId().equals(user.getId())) {
+            throw new RuntimeException("Only the owner can check out a group cart");
+        }
+        List<GroupCartItem> items = groupCartItemRepository.findForCheckout(groupCartId);
+        if (items.isEmpty()) {
+            throw new RuntimeException("Group cart is empty");
+        }
+
+        List<CartItem> lines = new ArrayList<>();
+        for (GroupCartItem item : items) {
+            CartItem line = new CartItem();
+            line.setMenuItem(item.getMenuItem());
+            line.setQuantity(item.getQuantity());
+            line.setPrice(item.getPrice());
+            lines.add(line);
+        }
+        CheckoutResponse response = orderService.checkout(user, lines, addressId, paymentMethod, couponCode);
+        groupCartItemRepository.deleteByIds(items.stream().map(GroupCartItem::getId).toList());
+        return response;
+    }
+
+    private GroupCart getParticipantCart(User user, Long groupCartId) {
+        if (!groupCartRepository.existsByIdAndParticipants_Id(groupCartId, user.getId())) {
+            throw new RuntimeException("Group cart not found");
+        }
+        return groupCartRepository.findById(groupCartId)
+                .orElseThrow(() -> new RuntimeException("Group cart not found"));
+    }
+
+    private User getUser(String userEmail) {
+        return userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    private GroupCartResponse buildResponse(GroupCart groupCart) {
+        GroupCartResponse response = new GroupCartResponse();
+        response.setId(groupCart.getId());
+        response.setShareCode(groupCart.getShareCode());
+        response.setOwnerId(groupCart.getOwner().getId());
+        response.setOwnerName(groupCart.getOwner().getName());
+
+        // Totals are derived from the line rows on read rather than stored on the
+        // cart, so concurrent edits never contend on a shared total column
+        Map<Long, GroupCartResponse.ParticipantInfo> byUser = new LinkedHashMap<>();
+        addParticipant(byUser, groupCart.getOwner());
+        groupCart.getParticipants().forEach(user -> addParticipant(byUser, user));
+
+        double total = 0.0;
+        for (GroupCartItem item : groupCartItemRepository.findByGroupCartIdOrderByIdAsc(groupCart.getId())) {
+            GroupCartResponse.ParticipantInfo participant = addParticipant(byUser, item.getUser());
+
+            GroupCartResponse.ItemInfo itemInfo = new GroupCartResponse.ItemInfo();
+            itemInfo.setId(item.getId());
+            itemInfo.setMenuItemId(item.getMenuItem().getId());
+            itemInfo.setName(item.getMenuItem().getName());
+            itemInfo.setQuantity(item.getQuantity());
+            itemInfo.setPrice(item.getPrice());
+            participant.getItems().add(itemInfo);
+
+            double lineTotal = item.getPrice() * item.getQuantity();
+            participant.setSubtotal(participant.getSubtotal() + lineTotal);
+            total += lineTotal;
+        }
+
+        List<GroupCartResponse.ParticipantInfo> participants = new ArrayList<>(byUser.values());
+        response.setParticipants(participants);
+        response.setTotalAmount(total);
+        return response;
+    }
+
+    private GroupCartResponse.ParticipantInfo addParticipant(Map<Long, GroupCartResponse.ParticipantInfo> byUser,
+            User user) {
+        return byUser.computeIfAbsent(user.getId(), id -> {
+            GroupCartResponse.ParticipantInfo info = new GroupCartResponse.ParticipantInfo();
+            info.setUserId(id);
+            info.setName(user.getName());
+            info.setItems(new ArrayList<>());
+            info.setSubtotal(0.0);
+            return info;
+        });
+    }
+}
@@ -0,0 +1,151 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.HomeResponse;
+import com.food.delivery.dto.OrderResponse;
+import com.food.delivery.dto.RestaurantSort;
+import com.food.delivery.model.Cart;
+import com.food.delivery.model.CartItem;
+import com.food.delivery.model.User;
+import com.food.delivery.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Everything the home screen needs in one round trip. The user is resolved once
+// and handed to each part; the database-backed parts run in parallel with their
+// own deadline, and a slow or failing part is left out instead of failing the page.
+@Service
+public class HomeService {
+
+    private static final Logger log = LoggerFactory.getLogger(HomeService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Value("${app.home.part-timeout-ms:800}")
+    private long partTimeoutMs;
+
+    @Value("${app.home.pool-size:16}")
+    private int poolSize;
+
+    @Value("${app.home.queue-capacity:64}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    // A bounded queue that rejects when full: under overload parts are reported
+    // missing straight away instead of piling up behind requests already given up on
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "home-fanout-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public HomeResponse getHome(String userEmail, RestaurantSort sort, Integer limit) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        List<String> missing = new ArrayList<>();
+
+        CompletableFuture<HomeResponse.CartInfo> cart = part(() -> toCartInfo(cartService.getCart(user)));
+        CompletableFuture<List<OrderResponse>> activeOrders = part(() -> orderService.getActiveOrders(user));
+
+        // The catalog page is an in-memory read, so it runs here while the others are in flight
+        HomeResponse response = new HomeResponse();
+        response.setProfile(toProfileInfo(user));
+        try {
+            response.setRestaurants(restaurantService.getRestaurantPage(sort, null, limit));
+        } catch (RuntimeException e) {
+            log.warn("Home catalog page failed: {}", e.getMessage());
+            missing.add("restaurants");
+        }
+        response.setCart(await("cart", cart, missing));
+        response.setActiveOrders(await("activeOrders", activeOrders, missing));
+        response.setMissing(missing);
+        return response;
+    }
+
+    // orTimeout alone only stops waiting, so a timed-out part is also cancelled:
+    // dropped from the queue if it has not started, interrupted if it has
+    private <T> CompletableFuture<T> part(Supplier<T> supplier) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    result.complete(supplier.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        result.orTimeout(partTimeoutMs, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error != null && task.cancel(true)) {
+                executor.remove((Runnable) task);
+            }
+        });
+        return result;
+    }
+
+    private <T> T await(String name, CompletableFuture<T> future, List<String> missing) {
+        try {
+            return future.join();
+        } catch (RuntimeException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.warn("Home part {} unavailable: {}", name, cause.toString());
+            missing.add(name);
+            return null;
+        }
+    }
+
+    private static HomeResponse.ProfileInfo toProfileInfo(User user) {
+        return new HomeResponse.ProfileInfo(user.getId(), user.getName(), user.getEmail(), user.getPhone(),
+                user.getImageUrl(), user.getRole() != null ? user.getRole().name() : null);
+    }
+
+    private static HomeResponse.CartInfo toCartInfo(Cart cart) {
+        int itemCount = 0;
+        if (cart.getItems() != null) {
+            for (CartItem item : cart.getItems()) {
+                itemCount += item.getQuantity() != null ? item.getQuantity() : 0;
+            }
+        }
+        return new HomeResponse.CartInfo(cart.getId(), itemCount, cart.getTotalAmount());
+    }
+}
@@ -0,0 +1,149 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.KitchenLoad;
+import com.food.delivery.event.CatalogChangedEvent;
+import com.food.delivery.event.KitchenSlotsReservedEvent;
+import com.food.delivery.event.OrderStatusChangedEvent;
+import com.food.delivery.model.OrderStatus;
+import com.food.delivery.model.Restaurant;
+import com.food.delivery.repository.OrderRepository;
+import com.food.delivery.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Admission control for kitchens: one counter per restaurant of orders still in
+// the kitchen (placed, confirmed or preparing). Checkout takes a slot with a CAS
+// against the restaurant's limit, so a full kitchen is refused before any order
+// row is written. Slots come back when an order leaves the kitchen or the
+// checkout rolls back.
+@Service
+public class KitchenCapacityService {
+
+    private static final Logger log = LoggerFactory.getLogger(KitchenCapacityService.class);
+
+    private static final List<OrderStatus> KITCHEN_STATUSES =
+            List.of(OrderStatus.PLACED, OrderStatus.CONFIRMED, OrderStatus.PREPARING);
+    private static final int DEFAULT_PREP_MINUTES = 30;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, AtomicInteger> activeOrders = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Map<Long, Integer> counts = new ConcurrentHashMap<>();
+        for (Object[] row : orderRepository.countByRestaurantAndStatusIn(KITCHEN_STATUSES)) {
+            counts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        activeOrders.keySet().removeIf(id -> !counts.containsKey(id));
+        counts.forEach((id, count) -> counter(id).set(count));
+        log.info("Kitchen load reconciled for {} restaurants", counts.size());
+    }
+
+    // Takes one slot per restaurant, all or none
+    public void reserve(List<Restaurant> restaurants) {
+        List<Long> reserved = new ArrayList<>();
+        for (Restaurant restaurant : restaurants) {
+            if (!tryAcquire(restaurant)) {
+                reserved.forEach(this::release);
+                throw new RuntimeException(restaurant.getName() + " is at full kitchen capacity, try again in about "
+                        + estimateWaitMinutes(restaurant, counter(restaurant.getId()).get()) + " minutes");
+            }
+            reserved.add(restaurant.getId());
+        }
+        eventPublisher.publishEvent(new KitchenSlotsReservedEvent(reserved));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onCheckoutRolledBack(KitchenSlotsReservedEvent event) {
+        event.getRestaurantIds().forEach(this::release);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        boolean wasInKitchen = KITCHEN_STATUSES.contains(event.getPreviousStatus());
+        boolean inKitchen = KITCHEN_STATUSES.contains(event.getStatus());
+        if (wasInKitchen && !inKitchen) {
+            release(event.getRestaurantId());
+        } else if (!wasInKitchen && inKitchen) {
+            counter(event.getRestaurantId()).incrementAndGet();
+        }
+    }
+
+    public KitchenLoad getLoad(Long restaurantId) {
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+        int active = counter(restaurantId).get();
+        Integer limit = restaurant.getMaxActiveOrders();
+        int wait = limit != null && active >= limit ? estimateWaitMinutes(restaurant, active) : 0;
+        return new KitchenLoad(restaurantId, active, limit, wait);
+    }
+
+    @Transactional
+    public KitchenLoad setCapacity(String ownerEmail, Long restaurantId, Integer maxActiveOrders) {
+        if (maxActiveOrders != null && maxActiveOrders < 1) {
+            throw new RuntimeException("Capacity must be at least 1");
+        }
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+        if (restaurant.getOwner() == null || !restaurant.getOwner().getEmail().equals(ownerEmail)) {
+            throw new RuntimeException("Unauthorized");
+        }
+        restaurantRepository.updateMaxActiveOrders(restaurantId, maxActiveOrders);
+        eventPublisher.publishEvent(new CatalogChangedEvent(restaurantId));
+        int active = counter(restaurantId).get();
+        return new KitchenLoad(restaurantId, active, maxActiveOrders, 0);
+    }
+
+    private boolean tryAcquire(Restaurant restaurant) {
+        AtomicInteger counter = counter(restaurant.getId());
+        Integer limit = restaurant.getMaxActiveOrders();
+        while (true) {
+            int current = counter.get();
+            if (limit != null && current >= limit) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void release(Long restaurantId) {
+        counter(restaurantId).getAndUpdate(current -> Math.max(0, current - 1));
+    }
+
+    private AtomicInteger counter(Long restaurantId) {
+        return activeOrders.computeIfAbsent(restaurantId, id -> new AtomicInteger());
+    }
+
+    // Orders ahead of the next free slot, drained at limit-many per prep cycle
+    private static int estimateWaitMinutes(Restaurant restaurant, int active) {
+        int limit = Math.max(1, restaurant.getMaxActiveOrders() != null ? restaurant.getMaxActiveOrders() : 1);
+        int prepMinutes = restaurant.getDeliveryTime() != null ? restaurant.getDeliveryTime() : DEFAULT_PREP_MINUTES;
+        int ahead = Math.max(1, active - limit + 1);
+        return (int) Math.ceil((double) ahead * prepMinutes / limit);
+    }
+}
@@ -0,0 +1,312 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.AvailabilityDelta;
+import com.food.delivery.event.CatalogRefreshedEvent;
+import com.food.delivery.event.MenuAvailabilityChangedEvent;
+import com.food.delivery.model.Restaurant;
+import com.food.delivery.repository.MenuItemRepository;
+import com.food.delivery.repository.RestaurantRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Availability of every menu item as one bitset per restaurant, indexed by the
+// item's position in id order. Toggles are written through to the database and,
+// once committed, applied to the bitset and pushed to open menu streams as a
+// delta of just the flipped ids. They do not touch the catalog snapshot: menu
+// reads overlay these bits and fold the availability version into their ETags,
+// so a toggle costs no catalog rebuild and leaves every other cached response
+// valid. Stream writes happen on their own thread, never the toggling request's.
+@Service
+public class MenuAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuAvailabilityService.class);
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.availability.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    private final Map<Long, MenuAvailability> menus = new ConcurrentHashMap<>();
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    // Bumped on every applied flip, for responses that span restaurants
+    private final AtomicLong version = new AtomicLong();
+
+    // One thread keeps each restaurant's deltas in version order
+    private final ExecutorService broadcaster = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "availability-broadcast");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // The layout follows the catalog; bits already held in memory win over the
+    // snapshot, which may have been read before a later toggle committed
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        CatalogSnapshot snapshot = event.getSnapshot();
+        if (event.isFullReload()) {
+            for (CatalogRestaurant restaurant : snapshot.getAllRestaurants()) {
+                menus.compute(restaurant.id(),
+                        (id, previous) -> MenuAvailability.of(snapshot.getMenu(id), previous));
+            }
+            menus.keySet().removeIf(id -> snapshot.getRestaurant(id) == null);
+            return;
+        }
+        Long restaurantId = event.getRestaurantId();
+        if (snapshot.getRestaurant(restaurantId) == null) {
+            menus.remove(restaurantId);
+            return;
+        }
+        menus.compute(restaurantId, (id, previous) -> MenuAvailability.of(snapshot.getMenu(id), previous));
+    }
+
+    public boolean isAvailable(Long restaurantId, Long menuItemId) {
+        MenuAvailability menu = menus.get(restaurantId);
+        return menu != null && menu.isAvailable(menuItemId);
+    }
+
+    // For items the bitset has not picked up yet (the layout follows the catalog
+    // on the indexing thread), the caller's own flag stands
+    public boolean isAvailable(Long restaurantId, Long menuItemId, boolean fallback) {
+        MenuAvailability menu = menus.get(restaurantId);
+        return menu != null ? menu.isAvailable(menuItemId, fallback) : fallback;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public long getVersion(Long restaurantId) {
+        MenuAvailability menu = menus.get(restaurantId);
+        return menu != null ? menu.version() : 0;
+    }
+
+    public AvailabilityDelta getAvailability(Long restaurantId) {
+        MenuAvailability menu = menus.get(restaurantId);
+        if (menu == null) {
+            throw new RuntimeException("Restaurant not found");
+        }
+        return menu.state(restaurantId);
+    }
+
+    // Commits before returning, so the response carries the version the flip was
+    // applied at: the same one open streams receive in their delta
+    public AvailabilityDelta setAvailability(String ownerEmail, Long restaurantId, List<Long> itemIds,
+            boolean available) {
+        if (itemIds == null || itemIds.isEmpty()) {
+            throw new RuntimeException("No menu items given");
+        }
+        MenuAvailabilityChangedEvent event = new TransactionTemplate(transactionManager).execute(status -> {
+            Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                    .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+            if (restaurant.getOwner() == null || !restaurant.getOwner().getEmail().equals(ownerEmail)) {
+                throw new RuntimeException("Unauthorized");
+            }
+            MenuAvailability menu = menus.get(restaurantId);
+            if (menu == null) {
+                throw new RuntimeException("Restaurant not found");
+            }
+            // Only items that actually flip are written or announced
+            List<Long> changed = menu.changes(itemIds, available);
+            if (changed.isEmpty()) {
+                return null;
+            }
+            menuItemRepository.updateAvailability(restaurantId, changed, available);
+            MenuAvailabilityChangedEvent changedEvent = new MenuAvailabilityChangedEvent(restaurantId, changed,
+                    available);
+            eventPublisher.publishEvent(changedEvent);
+            return changedEvent;
+        });
+        if (event != null && event.getApplied() != null) {
+            return event.getApplied();
+        }
+        // Nothing flipped, or a concurrent toggle flipped the same items first
+        List<Long> none = List.of();
+        return new AvailabilityDelta(restaurantId, getVersion(restaurantId), none, none);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAvailabilityChanged(MenuAvailabilityChangedEvent event) {
+        Long restaurantId = event.getRestaurantId();
+        AvailabilityDelta delta = null;
+        MenuAvailability menu = menus.get(restaurantId);
+        // A catalog refresh may swap the menu while we apply; applying is idempotent,
+        // so repeat against the replacement until the flip lands on the live one
+        while (menu != null) {
+            AvailabilityDelta applied = menu.apply(restaurantId, event.getItemIds(), event.isAvailable());
+            if (applied != null) {
+                delta = applied;
+            }
+            MenuAvailability live = menus.get(restaurantId);
+            menu = live != menu ? live : null;
+        }
+        event.setApplied(delta);
+        if (delta != null) {
+            version.incrementAndGet();
+            AvailabilityDelta applied = delta;
+            try {
+                broadcaster.execute(() -> broadcast(restaurantId, applied));
+            } catch (RejectedExecutionException e) {
+                log.debug("Availability broadcast skipped during shutdown");
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        broadcaster.shutdownNow();
+    }
+
+    public SseEmitter subscribe(Long restaurantId) {
+        AvailabilityDelta state = getAvailability(restaurantId);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(restaurantId, id -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        try {
+            emitter.send(SseEmitter.event().name("availability").data(state));
+        } catch (IOException e) {
+            emitters.remove(emitter);
+        }
+        return emitter;
+    }
+
+    private void broadcast(Long restaurantId, AvailabilityDelta delta) {
+        List<SseEmitter> emitters = subscribers.get(restaurantId);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("availability").data(delta));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping availability subscriber for restaurant {}: {}", restaurantId, e.getMessage());
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private static final class MenuAvailability {
+        private final long[] itemIds;
+        private final BitSet available;
+        private long version;
+
+        private MenuAvailability(long[] itemIds, BitSet available, long version) {
+            this.itemIds = itemIds;
+            this.available = available;
+            this.version = version;
+        }
+
+        static MenuAvailability of(List<CatalogMenuItem> menu, MenuAvailability previous) {
+            long[] ids = menu.stream().mapToLong(CatalogMenuItem::id).sorted().toArray();
+            boolean[] fromSnapshot = new boolean[ids.length];
+            for (CatalogMenuItem item : menu) {
+                fromSnapshot[Arrays.binarySearch(ids, item.id())] = item.available();
+            }
+            BitSet bits = new BitSet(ids.length);
+            long version = 0;
+            if (previous != null) {
+                synchronized (previous) {
+                    version = previous.version;
+                    for (int i = 0; i < ids.length; i++) {
+                        int old = Arrays.binarySearch(previous.itemIds, ids[i]);
+                        bits.set(i, old >= 0 ? previous.available.get(old) : fromSnapshot[i]);
+                    }
+                }
+            } else {
+                for (int i = 0; i < ids.length; i++) {
+                    bits.set(i, fromSnapshot[i]);
+                }
+            }
+            return new MenuAvailability(ids, bits, version);
+        }
+
+        synchronized boolean isAvailable(long itemId) {
+            int index = Arrays.binarySearch(itemIds, itemId);
+            return index >= 0 && available.get(index);
+        }
+
+        synchronized boolean isAvailable(long itemId, boolean fallback) {
+            int index = Arrays.binarySearch(itemIds, itemId);
+            return index >= 0 ? available.get(index) : fallback;
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        synchronized List<Long> changes(List<Long> ids, boolean value) {
+            List<Long> changed = new ArrayList<>();
+            for (Long id : ids) {
+                int index = id == null ? -1 : Arrays.binarySearch(itemIds, id);
+                if (index < 0) {
+                    throw new RuntimeException("Menu item not found: " + id);
+                }
+                if (available.get(index) != value && !changed.contains(id)) {
+                    changed.add(id);
+                }
+            }
+            return changed;
+        }
+
+        synchronized AvailabilityDelta apply(Long restaurantId, List<Long> ids, boolean value) {
+            List<Long> flipped = new ArrayList<>();
+            for (Long id : ids) {
+                int index = Arrays.binarySearch(itemIds, id);
+                if (index >= 0 && available.get(index) != value) {
+                    available.set(index, value);
+                    flipped.add(id);
+                }
+            }
+            if (flipped.isEmpty()) {
+                return null;
+            }
+            version++;
+            List<Long> none = List.of();
+            return new AvailabilityDelta(restaurantId, version, value ? flipped : none, value ? none : flipped);
+        }
+
+        synchronized AvailabilityDelta state(Long restaurantId) {
+            List<Long> unavailable = new ArrayList<>();
+            for (int i = available.nextClearBit(0); i < itemIds.length; i = available.nextClearBit(i + 1)) {
+                unavailable.add(itemIds[i]);
+            }
+            return new AvailabilityDelta(restaurantId, version, List.of(), unavailable);
+        }
+    }
+}
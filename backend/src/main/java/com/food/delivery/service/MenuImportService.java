@@ -0,0 +1,267 @@
+package com.food.delivery.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.delivery.dto.MenuImportResult;
+import com.food.delivery.event.CatalogChangedEvent;
+import com.food.delivery.model.Restaurant;
+import com.food.delivery.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Streams a CSV or JSON-lines menu file row by row: each row is validated on its
+// own, valid rows are buffered up to one chunk and written with a single JDBC
+// batch in a short transaction. Only one chunk is ever held in memory.
+@Service
+public class MenuImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuImportService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO menu_items "
+            + "(restaurant_id, name, description, price, veg, image_url, available) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.menu-import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.menu-import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    public MenuImportResult importMenu(String ownerEmail, Long restaurantId, InputStream body, boolean csv) {
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+        if (restaurant.getOwner() == null || !restaurant.getOwner().getEmail().equals(ownerEmail)) {
+            throw new RuntimeException("Unauthorized");
+        }
+
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun(restaurantId);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = null;
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && columns == null) {
+                    columns = parseHeader(line);
+                    continue;
+                }
+                try {
+                    run.add(lineNumber, csv ? fromCsv(line, columns) : fromJson(line));
+                } catch (RuntimeException e) {
+                    run.reject(lineNumber, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read import: " + e.getMessage());
+        } finally {
+            run.flush();
+            if (run.imported > 0) {
+                eventPublisher.publishEvent(new CatalogChangedEvent(restaurantId));
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Menu import for restaurant {}: {} imported, {} failed in {} ms",
+                restaurantId, run.imported, run.failed, elapsedMs);
+        return new MenuImportResult(run.imported, run.failed, elapsedMs, run.errors);
+    }
+
+    private class ImportRun {
+        private final Long restaurantId;
+        private final TransactionTemplate chunkTx = new TransactionTemplate(transactionManager);
+        private final List<Object[]> chunk = new ArrayList<>();
+        private final List<Long> chunkLines = new ArrayList<>();
+        private final List<MenuImportResult.RowError> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        ImportRun(Long restaurantId) {
+            this.restaurantId = restaurantId;
+        }
+
+        void add(long line, Row row) {
+            chunk.add(new Object[] { restaurantId, row.name, row.description, row.price, row.veg, row.imageUrl,
+                    row.available });
+            chunkLines.add(line);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new MenuImportResult.RowError(line, message));
+            }
+        }
+
+        // A failing chunk rolls back on its own; earlier chunks stay committed
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                chunkTx.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, chunk));
+                imported += chunk.size();
+            } catch (RuntimeException e) {
+                log.warn("Menu import chunk failed for restaurant {}: {}", restaurantId, e.getMessage());
+                for (Long line : chunkLines) {
+                    reject(line, "Chunk rejected by database");
+                }
+            }
+            chunk.clear();
+            chunkLines.clear();
+        }
+    }
+
+    private record Row(String name, String description, double price, boolean veg, String imageUrl,
+            boolean available) {
+    }
+
+    private Row fromJson(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new RuntimeException("Malformed JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new RuntimeException("Expected a JSON object");
+        }
+        return toRow(text(node, "name"), text(node, "description"), text(node, "price"), text(node, "veg"),
+                text(node, "imageUrl"), text(node, "available"));
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private Row fromCsv(String line, Map<String, Integer> columns) {
+        List<String> fields = splitCsv(line);
+        return toRow(field(fields, columns, "name"), field(fields, columns, "description"),
+                field(fields, columns, "price"), field(fields, columns, "veg"),
+                field(fields, columns, "imageurl"), field(fields, columns, "available"));
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+        List<String> names = splitCsv(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("price")) {
+            throw new RuntimeException("CSV header must include name and price");
+        }
+        return columns;
+    }
+
+    // RFC 4180 quoting within a single line; quoted fields may not span lines
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new RuntimeException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static Row toRow(String name, String description, String price, String veg, String imageUrl,
+            String available) {
+        if (name == null || name.isBlank()) {
+            throw new RuntimeException("Name is required");
+        }
+        if (name.length() > 255) {
+            throw new RuntimeException("Name is too long");
+        }
+        double parsedPrice;
+        try {
+            parsedPrice = Double.parseDouble(price == null ? "" : price.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Price must be a number");
+        }
+        if (!(parsedPrice > 0) || Double.isInfinite(parsedPrice)) {
+            throw new RuntimeException("Price must be positive");
+        }
+        return new Row(name.trim(), blankToNull(description), parsedPrice, parseBoolean(veg, false),
+                blankToNull(imageUrl), parseBoolean(available, true));
+    }
+
+    private static boolean parseBoolean(String value, boolean defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "y", "1" -> true;
+            case "false", "no", "n", "0" -> false;
+            default -> throw new RuntimeException("Invalid boolean: " + value);
+        };
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,322 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.StockLevel;
+import com.food.delivery.event.CatalogChangedEvent;
+import com.food.delivery.event.CatalogRefreshedEvent;
+import com.food.delivery.event.OrderStatusChangedEvent;
+import com.food.delivery.event.StockReservedEvent;
+import com.food.delivery.model.CartItem;
+import com.food.delivery.model.MenuItem;
+import com.food.delivery.model.OrderItem;
+import com.food.delivery.model.OrderStatus;
+import com.food.delivery.model.Restaurant;
+import com.food.delivery.repository.MenuItemRepository;
+import com.food.delivery.repository.OrderRepository;
+import com.food.delivery.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Stock for limited menu items. One striped in-memory counter per item decides
+// every checkout: units are taken with CAS, never with a row lock, so checkouts
+// of a hot item do not queue behind each other. What was taken is recorded as
+// stock_ledger rows written in the checkout transaction, so it is exactly as
+// durable as the order; a scheduled fold adds committed rows to
+// menu_items.stock_quantity in batches and deletes them. The stock is always the
+// column plus the ledger rows not yet folded.
+//
+// The counters are per JVM, so they only stop overselling when every checkout of
+// an item goes through one instance: a single instance, or restaurants routed
+// sticky to one. Two instances would each sell the full stock; the fold then
+// takes the column below zero and logs a warning.
+@Service
+public class MenuStockService {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuStockService.class);
+
+    private static final String LEDGER_SQL = "INSERT INTO stock_ledger (menu_item_id, delta) VALUES (?, ?)";
+
+    // Column plus pending ledger rows in one statement, so a fold cannot fall between them
+    private static final String AVAILABLE_SQL = "SELECT m.id, m.stock_quantity + COALESCE(SUM(l.delta), 0) "
+            + "FROM menu_items m LEFT JOIN stock_ledger l ON l.menu_item_id = m.id "
+            + "WHERE m.stock_quantity IS NOT NULL GROUP BY m.id, m.stock_quantity";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.stock.stripes:8}")
+    private int stripes;
+
+    @Value("${app.stock.fold-batch-size:1000}")
+    private int foldBatchSize;
+
+    private final Map<Long, StripedStockCounter> counters = new ConcurrentHashMap<>();
+    private final Map<Long, Long> itemRestaurants = new ConcurrentHashMap<>();
+
+    // Counters are seeded from the database the first time an item is seen; after
+    // that they follow this instance's own checkouts, cancellations and stock edits
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        CatalogSnapshot snapshot = event.getSnapshot();
+        List<CatalogRestaurant> restaurants = event.isFullReload() ? snapshot.getAllRestaurants()
+                : snapshot.getRestaurant(event.getRestaurantId()) != null
+                        ? List.of(snapshot.getRestaurant(event.getRestaurantId())) : List.of();
+
+        Set<Long> seen = new HashSet<>();
+        Map<Long, Integer> available = null;
+        for (CatalogRestaurant restaurant : restaurants) {
+            for (CatalogMenuItem item : snapshot.getMenu(restaurant.id())) {
+                seen.add(item.id());
+                itemRestaurants.put(item.id(), restaurant.id());
+                if (item.stockQuantity() == null) {
+                    counters.remove(item.id());
+                } else if (!counters.containsKey(item.id())) {
+                    if (available == null) {
+                        available = availableStock();
+                    }
+                    int initial = Math.max(0, available.getOrDefault(item.id(), item.stockQuantity()));
+                    counters.putIfAbsent(item.id(), new StripedStockCounter(stripes, initial));
+                }
+            }
+        }
+        Long restaurantId = event.getRestaurantId();
+        itemRestaurants.entrySet().removeIf(entry -> !seen.contains(entry.getKey())
+                && (event.isFullReload() || entry.getValue().equals(restaurantId)));
+        counters.keySet().removeIf(id -> !itemRestaurants.containsKey(id));
+    }
+
+    public Integer getAvailable(Long menuItemId) {
+        StripedStockCounter counter = counters.get(menuItemId);
+        return counter != null ? counter.available() : null;
+    }
+
+    public List<StockLevel> getStock(Long restaurantId) {
+        List<StockLevel> levels = new ArrayList<>();
+        itemRestaurants.forEach((itemId, ownerId) -> {
+            StripedStockCounter counter = counters.get(itemId);
+            if (ownerId.equals(restaurantId) && counter != null) {
+                levels.add(new StockLevel(itemId, counter.available()));
+            }
+        });
+        return levels;
+    }
+
+    // Called inside the checkout transaction; all lines are reserved or none. The
+    // counters decide, and the units taken go into the ledger with the order.
+    public void reserve(List<CartItem> lines) {
+        Map<Long, Integer> reserved = new TreeMap<>();
+        for (CartItem line : lines) {
+            MenuItem item = line.getMenuItem();
+            StripedStockCounter counter = counters.get(item.getId());
+            if (counter == null) {
+                continue;
+            }
+            if (!counter.tryTake(line.getQuantity())) {
+                reserved.forEach(this::returnUnits);
+                int left = counter.available();
+                throw new RuntimeException(left > 0 ? "Only " + left + " left of " + item.getName()
+                        : item.getName() + " is sold out");
+            }
+            reserved.merge(item.getId(), line.getQuantity(), Integer::sum);
+        }
+        if (reserved.isEmpty()) {
+            return;
+        }
+        // Published before the write, so the counters get their units back on any rollback
+        eventPublisher.publishEvent(new StockReservedEvent(reserved));
+        writeLedger(reserved, -1);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onReservationRolledBack(StockReservedEvent event) {
+        event.getQuantities().forEach(this::returnUnits);
+    }
+
+    // A cancelled order puts its units back on the shelf: in the ledger as part of
+    // the cancelling transaction, and on the counters once that commits
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void restockCancelledOrder(OrderStatusChangedEvent event) {
+        Map<Long, Integer> units = cancelledUnits(event);
+        units.keySet().retainAll(counters.keySet());
+        writeLedger(units, 1);
+    }
+
+    // Folds committed ledger rows into stock_quantity, oldest first. Rows are locked
+    // with SKIP LOCKED, so instances fold side by side, and items are updated in id
+    // order, so concurrent folds cannot deadlock. Rows of items no longer tracked
+    // are dropped.
+    @Scheduled(fixedDelayString = "${app.stock.fold-interval-ms:1000}")
+    public void foldLedger() {
+        Integer folded;
+        do {
+            folded = new TransactionTemplate(transactionManager).execute(status -> foldBatch());
+        } while (folded != null && folded == foldBatchSize);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        cancelledUnits(event).forEach(this::returnUnits);
+    }
+
+    // Null quantity stops tracking stock for the item. Locking the row holds back
+    // the fold, so the column and the committed ledger rows read under it add up to
+    // the stock every committed order left. The change goes into the ledger as the
+    // difference, and the counter moves by the same difference, so units held by
+    // in-flight checkouts are not double counted.
+    public StockLevel setStock(String ownerEmail, Long restaurantId, Long menuItemId, Integer quantity) {
+        if (quantity != null && quantity < 0) {
+            throw new RuntimeException("Stock cannot be negative");
+        }
+        Integer[] previous = new Integer[1];
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                    .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+            if (restaurant.getOwner() == null || !restaurant.getOwner().getEmail().equals(ownerEmail)) {
+                throw new RuntimeException("Unauthorized");
+            }
+            menuItemRepository.findById(menuItemId)
+                    .filter(found -> found.getRestaurant().getId().equals(restaurantId))
+                    .orElseThrow(() -> new RuntimeException("Menu item not found"));
+            Integer column = jdbcTemplate.queryForObject(
+                    "SELECT stock_quantity FROM menu_items WHERE id = ? FOR UPDATE", Integer.class, menuItemId);
+            int pending = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(delta), 0) FROM stock_ledger WHERE menu_item_id = ?", Integer.class,
+                    menuItemId);
+            previous[0] = column != null ? column + pending : null;
+            if (column != null && quantity != null) {
+                writeLedger(Map.of(menuItemId, quantity - previous[0]), 1);
+                return;
+            }
+            // Switching tracking on or off writes the column itself; rows still
+            // pending are netted out here, or dropped by the fold once it is null
+            jdbcTemplate.update("UPDATE menu_items SET stock_quantity = ? WHERE id = ?",
+                    quantity != null ? quantity - pending : null, menuItemId);
+            if ((column == null) != (quantity == null)) {
+                // Switching tracking on or off changes what the catalog shows
+                eventPublisher.publishEvent(new CatalogChangedEvent(restaurantId));
+            }
+        });
+
+        if (quantity == null) {
+            counters.remove(menuItemId);
+            return new StockLevel(menuItemId, null);
+        }
+        StripedStockCounter counter = counters.get(menuItemId);
+        if (previous[0] == null || counter == null) {
+            counters.put(menuItemId, new StripedStockCounter(stripes, quantity));
+            itemRestaurants.put(menuItemId, restaurantId);
+            return new StockLevel(menuItemId, quantity);
+        }
+        int difference = quantity - previous[0];
+        if (difference > 0) {
+            counter.put(difference);
+        } else if (difference < 0) {
+            counter.drain(-difference);
+        }
+        return new StockLevel(menuItemId, counter.available());
+    }
+
+    private int foldBatch() {
+        List<Long> rows = new ArrayList<>();
+        Map<Long, Integer> deltas = new TreeMap<>();
+        jdbcTemplate.query("SELECT id, menu_item_id, delta FROM stock_ledger ORDER BY id LIMIT ? "
+                + "FOR UPDATE SKIP LOCKED", (RowCallbackHandler) rs -> {
+                    rows.add(rs.getLong("id"));
+                    deltas.merge(rs.getLong("menu_item_id"), rs.getInt("delta"), Integer::sum);
+                }, foldBatchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> updates = new ArrayList<>();
+        deltas.forEach((id, delta) -> updates.add(new Object[] { delta, id }));
+        jdbcTemplate.batchUpdate("UPDATE menu_items SET stock_quantity = stock_quantity + ? "
+                + "WHERE id = ? AND stock_quantity IS NOT NULL", updates);
+        jdbcTemplate.batchUpdate("DELETE FROM stock_ledger WHERE id = ?",
+                rows.stream().map(id -> new Object[] { id }).toList());
+
+        String placeholders = String.join(",", Collections.nCopies(deltas.size(), "?"));
+        List<Long> negative = jdbcTemplate.queryForList("SELECT id FROM menu_items WHERE stock_quantity < 0 "
+                + "AND id IN (" + placeholders + ")", Long.class, deltas.keySet().toArray());
+        if (!negative.isEmpty()) {
+            log.warn("Stock below zero for menu items {}; were they sold through more than one instance?",
+                    negative);
+        }
+        return rows.size();
+    }
+
+    private void writeLedger(Map<Long, Integer> deltas, int sign) {
+        List<Object[]> batch = new ArrayList<>();
+        deltas.forEach((id, delta) -> {
+            if (delta != 0) {
+                batch.add(new Object[] { id, sign * delta });
+            }
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(LEDGER_SQL, batch);
+        }
+    }
+
+    private Map<Long, Integer> availableStock() {
+        Map<Long, Integer> available = new HashMap<>();
+        jdbcTemplate.query(AVAILABLE_SQL, (RowCallbackHandler) rs -> available.put(rs.getLong(1), rs.getInt(2)));
+        return available;
+    }
+
+    private Map<Long, Integer> cancelledUnits(OrderStatusChangedEvent event) {
+        Map<Long, Integer> units = new TreeMap<>();
+        if (event.getStatus() != OrderStatus.CANCELLED || event.getPreviousStatus() == OrderStatus.CANCELLED) {
+            return units;
+        }
+        orderRepository.findById(event.getOrderId()).ifPresent(order -> {
+            for (OrderItem item : order.getItems()) {
+                if (item.getMenuItemId() != null) {
+                    units.merge(item.getMenuItemId(), item.getQuantity(), Integer::sum);
+                }
+            }
+        });
+        return units;
+    }
+
+    private void returnUnits(Long menuItemId, int quantity) {
+        StripedStockCounter counter = counters.get(menuItemId);
+        if (counter != null) {
+            counter.put(quantity);
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.food.delivery.service;
 
+import com.food.delivery.dto.CheckoutResponse;
 import com.food.delivery.dto.OrderResponse;
+import com.food.delivery.dto.PromotionQuote;
+import com.food.delivery.event.OrderPlacedEvent;
+import com.food.delivery.event.OrderStatusChangedEvent;
 import com.food.delivery.model.*;
 import com.food.delivery.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,8 +33,27 @@ public class OrderService {
     @Autowired
     private AddressRepository addressRepository;
 
+    @Autowired
+    private DeliveryZoneService deliveryZoneService;
+
+    @Autowired
+    private KitchenCapacityService kitchenCapacityService;
+
+    @Autowired
+    private MenuStockService menuStockService;
+
+    @Autowired
+    private DemandService demandService;
+
+    @Autowired
+    private PromotionService promotionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional
-    public Order placeOrder(String userEmail, Long addressId, PaymentMethod paymentMethod) {
+    public CheckoutResponse placeOrder(String userEmail, Long addressId, PaymentMethod paymentMethod,
+            String couponCode) {
         Cart cart = cartService.getCart(userEmail);
         if (cart.getItems().isEmpty()) {
             throw new RuntimeException("Cart is empty");
@@ -36,13 +62,76 @@ public class OrderService {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        CheckoutResponse response = checkout(user, cart.getItems(), addressId, paymentMethod, couponCode);
+
+        // Clear cart after order placement
+        cartService.clearCart(userEmail);
+        return response;
+    }
+
+    // Splits the lines into one order per restaurant. All orders commit together or
+    // not at all, so a mixed cart never ends up partially placed. The lines may be
+    // a user's cart or a group cart; emptying the source is up to the caller.
+    @Transactional
+    public CheckoutResponse checkout(User user, List<CartItem> items, Long addressId, PaymentMethod paymentMethod,
+            String couponCode) {
         Address address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new RuntimeException("Address not found"));
 
-        // Assuming all items in cart are from same restaurant for simplicity
-        // In a real app, we might split orders or validate this
-        Restaurant restaurant = cart.getItems().get(0).getMenuItem().getRestaurant();
+        Map<Long, List<CartItem>> linesByRestaurant = new LinkedHashMap<>();
+        for (CartItem cartItem : items) {
+            linesByRestaurant.computeIfAbsent(cartItem.getMenuItem().getRestaurant().getId(),
+                    id -> new ArrayList<>()).add(cartItem);
+        }
+
+        List<Order> orders = new ArrayList<>();
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (List<CartItem> lines : linesByRestaurant.values()) {
+            Restaurant restaurant = lines.get(0).getMenuItem().getRestaurant();
+            if (!deliveryZoneService.isServiceable(CatalogRestaurant.from(restaurant), address.getLatitude(),
+                    address.getLongitude())) {
+                throw new RuntimeException(restaurant.getName() + " does not deliver to this address");
+            }
+            restaurants.add(restaurant);
+            orders.add(buildOrder(user, address, restaurant, lines, paymentMethod,
+                    demandService.quoteFee(address.getLatitude(), address.getLongitude())));
+        }
+
+        Map<Restaurant, Double> subtotals = new LinkedHashMap<>();
+        for (Order order : orders) {
+            subtotals.put(order.getRestaurant(), order.getTotalAmount() - order.getDeliveryFee());
+        }
+        // Claimed in this transaction: of two concurrent checkouts only one can flip the
+        // flag, and a rollback hands the first order back
+        boolean firstOrder = !user.getHasOrdered() && userRepository.markOrdered(user.getId()) == 1;
+        List<PromotionQuote> quotes = promotionService.allocate(firstOrder, subtotals, paymentMethod, couponCode);
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            PromotionQuote quote = quotes.get(i);
+            order.setDiscountAmount(quote.getDiscount());
+            order.setPromotionId(quote.getPromotionId());
+            order.setTotalAmount(order.getTotalAmount() - quote.getDiscount());
+        }
+
+        // Refuses before any row is written; slots and stock come back if this transaction rolls back
+        kitchenCapacityService.reserve(restaurants);
+        menuStockService.reserve(items);
 
+        // One flush for every order and line instead of a save per order
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        for (Order saved : savedOrders) {
+            eventPublisher.publishEvent(new OrderPlacedEvent(saved.getId(), user.getId(), saved.getRestaurant().getId(),
+                    address.getLatitude(), address.getLongitude()));
+        }
+
+        List<OrderResponse> responses = savedOrders.stream().map(this::mapToOrderResponse)
+                .collect(Collectors.toList());
+        double total = savedOrders.stream().mapToDouble(Order::getTotalAmount).sum();
+        return new CheckoutResponse(responses, total);
+    }
+
+    private Order buildOrder(User user, Address address, Restaurant restaurant, List<CartItem> lines,
+            PaymentMethod paymentMethod, double deliveryFee) {
         Order order = new Order();
         order.setUser(user);
         order.setRestaurant(restaurant);
@@ -50,29 +139,28 @@ public class OrderService {
         order.setStatus(OrderStatus.PLACED);
         order.setPaymentStatus("PENDING");
         order.setPaymentMethod(paymentMethod != null ? paymentMethod : PaymentMethod.COD);
-        order.setTotalAmount(cart.getTotalAmount());
 
         // Set estimated delivery time (current time + restaurant delivery time)
         order.setEstimatedDeliveryTime(
                 java.time.LocalDateTime.now().plusMinutes(restaurant.getDeliveryTime()));
 
         List<OrderItem> orderItems = new ArrayList<>();
-        for (CartItem cartItem : cart.getItems()) {
+        double total = 0.0;
+        for (CartItem cartItem : lines) {
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(order);
-            orderItem.setMenuItem(cartItem.getMenuItem());
+            orderItem.setMenuItemId(cartItem.getMenuItem().getId());
+            orderItem.setItemName(cartItem.getMenuItem().getName());
+            orderItem.setVeg(cartItem.getMenuItem().getVeg());
             orderItem.setQuantity(cartItem.getQuantity());
             orderItem.setPrice(cartItem.getPrice());
             orderItems.add(orderItem);
+            total += cartItem.getPrice() * cartItem.getQuantity();
         }
         order.setItems(orderItems);
-
-        Order savedOrder = orderRepository.save(order);
-
-        // Clear cart after order placement
-        cartService.clearCart(userEmail);
-
-        return savedOrder;
+        order.setDeliveryFee(deliveryFee);
+        order.setTotalAmount(total + deliveryFee);
+        return order;
     }
 
     public List<OrderResponse> getUserOrders(String userEmail) {
@@ -82,6 +170,13 @@ public class OrderService {
         return orders.stream().map(this::mapToOrderResponse).collect(Collectors.toList());
     }
 
+    public List<OrderResponse> getActiveOrders(User user) {
+        return orderRepository.findByUserIdAndStatusNotInOrderByCreatedAtDesc(user.getId(),
+                List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED)).stream()
+                .map(this::mapToOrderResponse)
+                .collect(Collectors.toList());
+    }
+
     public List<OrderResponse> getRestaurantOrders(Long restaurantId) {
         List<Order> orders = orderRepository.findByRestaurantIdOrderByCreatedAtDesc(restaurantId);
         return orders.stream().map(this::mapToOrderResponse).collect(Collectors.toList());
@@ -91,6 +186,8 @@ public class OrderService {
         OrderResponse response = new OrderResponse();
         response.setId(order.getId());
         response.setTotalAmount(order.getTotalAmount());
+        response.setDeliveryFee(order.getDeliveryFee());
+        response.setDiscountAmount(order.getDiscountAmount());
         response.setStatus(order.getStatus());
         response.setPaymentStatus(order.getPaymentStatus());
         response.setPaymentMethod(order.getPaymentMethod());
@@ -122,10 +219,10 @@ public class OrderService {
             itemInfo.setPrice(item.getPrice());
 
             OrderResponse.MenuItemInfo menuItemInfo = new OrderResponse.MenuItemInfo();
-            menuItemInfo.setId(item.getMenuItem().getId());
-            menuItemInfo.setName(item.getMenuItem().getName());
-            menuItemInfo.setPrice(item.getMenuItem().getPrice());
-            menuItemInfo.setVeg(item.getMenuItem().getVeg());
+            menuItemInfo.setId(item.getMenuItemId());
+            menuItemInfo.setName(item.getItemName());
+            menuItemInfo.setPrice(item.getPrice());
+            menuItemInfo.setVeg(item.getVeg());
             itemInfo.setMenuItem(menuItemInfo);
 
             return itemInfo;
@@ -135,10 +232,12 @@ public class OrderService {
         return response;
     }
 
+    @Transactional
     public Order updateOrderStatus(Long orderId, String status) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
         OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(orderStatus);
 
         // Set delivered timestamp when order is delivered
@@ -147,7 +246,10 @@ public class OrderService {
             order.setPaymentStatus("PAID");
         }
 
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(saved.getId(), saved.getRestaurant().getId(),
+                previousStatus, orderStatus));
+        return saved;
     }
 
     public List<OrderResponse> getAvailableDeliveries() {
@@ -0,0 +1,169 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.Suggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+// Immutable prefix lookup over a sorted term array. A prefix maps to a contiguous
+// range of the array (two binary searches), and a max-weight segment tree pulls
+// the top-k of that range in O(k log n) without scanning it. Memory is the
+// term arrays plus two ints per term.
+public final class PrefixSuggester {
+
+    private final String[] keys;
+    private final String[] texts;
+    private final String[] types;
+    private final long[] weights;
+    private final int[] tree; // index of the heaviest term in each segment
+    private final int size;
+
+    public PrefixSuggester(List<Suggestion> terms) {
+        Suggestion[] sorted = terms.toArray(new Suggestion[0]);
+        Arrays.sort(sorted, Comparator.comparing(t -> t.getText().toLowerCase()));
+        size = sorted.length;
+        keys = new String[size];
+        texts = new String[size];
+        types = new String[size];
+        weights = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = sorted[i].getText().toLowerCase();
+            texts[i] = sorted[i].getText();
+            types[i] = sorted[i].getType();
+            weights[i] = sorted[i].getWeight();
+        }
+        tree = buildTree();
+    }
+
+    private PrefixSuggester(String[] keys, String[] texts, String[] types, long[] weights) {
+        this.size = keys.length;
+        this.keys = keys;
+        this.texts = texts;
+        this.types = types;
+        this.weights = weights;
+        tree = buildTree();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // A new suggester with some terms replaced, added or (null value) dropped,
+    // keyed by lower-cased text. One merge pass over the sorted arrays plus the
+    // tree rebuild: O(n + k log k), with no re-sort of the existing terms. New
+    // terms are only added while the result stays within maxSize.
+    public PrefixSuggester withChanges(Map<String, Suggestion> changes, int maxSize) {
+        TreeMap<String, Suggestion> sortedChanges = new TreeMap<>(changes);
+        int capacity = size + sortedChanges.size();
+        String[] nextKeys = new String[capacity];
+        String[] nextTexts = new String[capacity];
+        String[] nextTypes = new String[capacity];
+        long[] nextWeights = new long[capacity];
+        int n = 0;
+        int i = 0;
+        for (Map.Entry<String, Suggestion> change : sortedChanges.entrySet()) {
+            String key = change.getKey();
+            for (; i < size && keys[i].compareTo(key) < 0; i++, n++) {
+                nextKeys[n] = keys[i];
+                nextTexts[n] = texts[i];
+                nextTypes[n] = types[i];
+                nextWeights[n] = weights[i];
+            }
+            boolean exists = i < size && keys[i].equals(key);
+            Suggestion term = change.getValue();
+            if (term != null && (exists || n + (size - i) < maxSize)) {
+                nextKeys[n] = key;
+                nextTexts[n] = term.getText();
+                nextTypes[n] = term.getType();
+                nextWeights[n] = term.getWeight();
+                n++;
+            }
+            if (exists) {
+                i++;
+            }
+        }
+        for (; i < size; i++, n++) {
+            nextKeys[n] = keys[i];
+            nextTexts[n] = texts[i];
+            nextTypes[n] = types[i];
+            nextWeights[n] = weights[i];
+        }
+        return new PrefixSuggester(Arrays.copyOf(nextKeys, n), Arrays.copyOf(nextTexts, n),
+                Arrays.copyOf(nextTypes, n), Arrays.copyOf(nextWeights, n));
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = prefix.toLowerCase();
+        int from = lowerBound(key);
+        int to = lowerBound(key + Character.MAX_VALUE);
+        List<Suggestion> result = new ArrayList<>(Math.min(limit, Math.max(to - from, 0)));
+        if (from >= to) {
+            return result;
+        }
+
+        // Each queued range is represented by its heaviest term; taking one splits
+        // the range around it
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> Long.compare(weights[b[0]], weights[a[0]]));
+        ranges.add(new int[] { argMax(from, to), from, to });
+        while (!ranges.isEmpty() && result.size() < limit) {
+            int[] best = ranges.poll();
+            int index = best[0];
+            result.add(new Suggestion(texts[index], types[index], weights[index]));
+            if (best[1] < index) {
+                ranges.add(new int[] { argMax(best[1], index), best[1], index });
+            }
+            if (index + 1 < best[2]) {
+                ranges.add(new int[] { argMax(index + 1, best[2]), index + 1, best[2] });
+            }
+        }
+        return result;
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Heaviest term in [from, to)
+    private int argMax(int from, int to) {
+        int best = from;
+        for (int l = from + size, r = to + size; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                best = heavier(best, tree[l++]);
+            }
+            if ((r & 1) == 1) {
+                best = heavier(best, tree[--r]);
+            }
+        }
+        return best;
+    }
+
+    private int[] buildTree() {
+        int[] tree = new int[2 * Math.max(size, 1)];
+        for (int i = 0; i < size; i++) {
+            tree[size + i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            tree[i] = heavier(tree[2 * i], tree[2 * i + 1]);
+        }
+        return tree;
+    }
+
+    private int heavier(int a, int b) {
+        return weights[b] > weights[a] || (weights[b] == weights[a] && b < a) ? b : a;
+    }
+}
@@ -0,0 +1,9 @@
+package com.food.delivery.service;
+
+import com.food.delivery.model.PaymentMethod;
+
+// What a promotion rule may look at for one restaurant's share of a cart.
+// cuisineType is lowercased.
+record PromotionContext(Long restaurantId, String cuisineType, double subtotal, PaymentMethod paymentMethod,
+        long nowMillis, boolean firstOrder) {
+}
@@ -0,0 +1,127 @@
+package com.food.delivery.service;
+
+import com.food.delivery.model.DiscountType;
+import com.food.delivery.model.PaymentMethod;
+import com.food.delivery.model.Promotion;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+// Active promotions compiled into predicate chains and indexed so a checkout
+// only looks at automatic promotions of its own restaurant plus the global ones,
+// and at most one coupon by code. Immutable; rebuilt whenever promotions change.
+final class PromotionIndex {
+
+    private static final Compiled[] NONE = new Compiled[0];
+
+    private final Map<Long, Compiled[]> byRestaurant;
+    private final Compiled[] global;
+    private final Map<String, Compiled> byCode;
+
+    PromotionIndex(List<Promotion> promotions) {
+        Map<Long, List<Compiled>> restaurantLists = new HashMap<>();
+        List<Compiled> globalList = new ArrayList<>();
+        Map<String, Compiled> codes = new HashMap<>();
+        for (Promotion promotion : promotions) {
+            if (promotion.getCode() != null) {
+                codes.put(promotion.getCode(), compile(promotion, true));
+            } else if (promotion.getRestaurantId() != null) {
+                restaurantLists.computeIfAbsent(promotion.getRestaurantId(), id -> new ArrayList<>())
+                        .add(compile(promotion, false));
+            } else {
+                globalList.add(compile(promotion, false));
+            }
+        }
+        Map<Long, Compiled[]> restaurants = new HashMap<>();
+        restaurantLists.forEach((id, list) -> restaurants.put(id, list.toArray(NONE)));
+        this.byRestaurant = restaurants;
+        this.global = globalList.toArray(NONE);
+        this.byCode = codes;
+    }
+
+    // Best automatic discount for the context, or null when none applies
+    Compiled bestAutomatic(PromotionContext context) {
+        Compiled best = best(byRestaurant.getOrDefault(context.restaurantId(), NONE), context, null);
+        return best(global, context, best);
+    }
+
+    private static Compiled best(Compiled[] candidates, PromotionContext context, Compiled current) {
+        Compiled best = current;
+        double bestDiscount = current != null ? current.discountFor(context) : 0;
+        for (Compiled candidate : candidates) {
+            double discount = candidate.discountFor(context);
+            if (discount > bestDiscount) {
+                best = candidate;
+                bestDiscount = discount;
+            }
+        }
+        return best;
+    }
+
+    Compiled coupon(String code) {
+        return code == null ? null : byCode.get(code.trim().toUpperCase(Locale.ROOT));
+    }
+
+    int size() {
+        return byCode.size() + global.length + byRestaurant.values().stream().mapToInt(list -> list.length).sum();
+    }
+
+    // Criteria become leaf predicates ANDed together
+    static Compiled compile(Promotion promotion, boolean checkRestaurant) {
+        List<Predicate<PromotionContext>> leaves = new ArrayList<>();
+        if (checkRestaurant && promotion.getRestaurantId() != null) {
+            long restaurantId = promotion.getRestaurantId();
+            leaves.add(context -> context.restaurantId() != null && context.restaurantId() == restaurantId);
+        }
+        if (promotion.getPaymentMethod() != null) {
+            PaymentMethod method = promotion.getPaymentMethod();
+            leaves.add(context -> context.paymentMethod() == method);
+        }
+        if (promotion.getMinCartValue() != null) {
+            double minimum = promotion.getMinCartValue();
+            leaves.add(context -> context.subtotal() >= minimum);
+        }
+        if (promotion.getValidFrom() != null) {
+            long from = promotion.getValidFrom().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            leaves.add(context -> context.nowMillis() >= from);
+        }
+        if (promotion.getValidUntil() != null) {
+            long until = promotion.getValidUntil().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            leaves.add(context -> context.nowMillis() < until);
+        }
+        if (promotion.getCuisineType() != null && !promotion.getCuisineType().isBlank()) {
+            String cuisine = promotion.getCuisineType().trim().toLowerCase(Locale.ROOT);
+            leaves.add(context -> cuisine.equals(context.cuisineType()));
+        }
+        if (promotion.isFirstOrderOnly()) {
+            leaves.add(PromotionContext::firstOrder);
+        }
+
+        Predicate<PromotionContext> rule = context -> true;
+        for (Predicate<PromotionContext> leaf : leaves) {
+            rule = rule.and(leaf);
+        }
+        return new Compiled(promotion.getId(), promotion.getCode(), promotion.getName(), rule,
+                promotion.getDiscountType(), promotion.getDiscountValue(), promotion.getMaxDiscount());
+    }
+
+    record Compiled(Long id, String code, String name, Predicate<PromotionContext> rule, DiscountType type,
+            double value, Double maxDiscount) {
+
+        double discountFor(PromotionContext context) {
+            if (!rule.test(context)) {
+                return 0;
+            }
+            double discount = type == DiscountType.PERCENTAGE ? context.subtotal() * value / 100 : value;
+            if (maxDiscount != null) {
+                discount = Math.min(discount, maxDiscount);
+            }
+            return Math.round(Math.min(discount, context.subtotal()) * 100) / 100.0;
+        }
+    }
+}
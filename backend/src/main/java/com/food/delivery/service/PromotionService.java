@@ -0,0 +1,196 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.PromotionQuote;
+import com.food.delivery.event.PromotionsChangedEvent;
+import com.food.delivery.model.Cart;
+import com.food.delivery.model.CartItem;
+import com.food.delivery.model.DiscountType;
+import com.food.delivery.model.PaymentMethod;
+import com.food.delivery.model.Promotion;
+import com.food.delivery.model.Restaurant;
+import com.food.delivery.repository.PromotionRepository;
+import com.food.delivery.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+public class PromotionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PromotionService.class);
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Promotions change rarely, so the whole index is recompiled and swapped on each change
+    private volatile PromotionIndex index = new PromotionIndex(List.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadIndex() {
+        rebuildIndex();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPromotionsChanged(PromotionsChangedEvent event) {
+        rebuildIndex();
+    }
+
+    private synchronized void rebuildIndex() {
+        index = new PromotionIndex(promotionRepository.findByActiveTrue());
+        log.info("Promotion index rebuilt with {} active promotions", index.size());
+    }
+
+    // Picks the best automatic promotion for each restaurant's subtotal, then
+    // gives the coupon, if any, to the one order where it beats that the most.
+    // In-memory only, so checkout pays no queries for it; whether this is the
+    // user's first order is decided by the caller.
+    public List<PromotionQuote> allocate(boolean firstOrder, Map<Restaurant, Double> subtotals,
+            PaymentMethod paymentMethod, String couponCode) {
+        PromotionIndex current = index;
+        long now = System.currentTimeMillis();
+        PaymentMethod method = paymentMethod != null ? paymentMethod : PaymentMethod.COD;
+
+        List<PromotionContext> contexts = new ArrayList<>();
+        List<PromotionQuote> quotes = new ArrayList<>();
+        for (Map.Entry<Restaurant, Double> entry : subtotals.entrySet()) {
+            Restaurant restaurant = entry.getKey();
+            String cuisine = restaurant.getCuisineType() != null
+                    ? restaurant.getCuisineType().trim().toLowerCase(Locale.ROOT) : null;
+            PromotionContext context = new PromotionContext(restaurant.getId(), cuisine, entry.getValue(), method,
+                    now, firstOrder);
+            contexts.add(context);
+            quotes.add(quote(context, current.bestAutomatic(context)));
+        }
+
+        if (couponCode != null && !couponCode.isBlank()) {
+            PromotionIndex.Compiled coupon = current.coupon(couponCode);
+            if (coupon == null) {
+                throw new RuntimeException("Invalid coupon code");
+            }
+            int target = -1;
+            double bestGain = 0;
+            for (int i = 0; i < contexts.size(); i++) {
+                double gain = coupon.discountFor(contexts.get(i)) - quotes.get(i).getDiscount();
+                if (gain > bestGain) {
+                    target = i;
+                    bestGain = gain;
+                }
+            }
+            if (target < 0) {
+                throw new RuntimeException("Coupon is not applicable to this cart");
+            }
+            quotes.set(target, quote(contexts.get(target), coupon));
+        }
+        return quotes;
+    }
+
+    public List<PromotionQuote> quoteCart(String userEmail, String couponCode, PaymentMethod paymentMethod) {
+        Cart cart = cartService.getCart(userEmail);
+        Map<Restaurant, Double> subtotals = new LinkedHashMap<>();
+        Map<Long, Restaurant> restaurants = new LinkedHashMap<>();
+        for (CartItem item : cart.getItems()) {
+            Restaurant restaurant = restaurants.computeIfAbsent(item.getMenuItem().getRestaurant().getId(),
+                    id -> item.getMenuItem().getRestaurant());
+            subtotals.merge(restaurant, item.getPrice() * item.getQuantity(), Double::sum);
+        }
+        // A preview only reads the flag; checkout is what claims the first order
+        return allocate(!cart.getUser().getHasOrdered(), subtotals, paymentMethod, couponCode);
+    }
+
+    // Coupon codes stay private; only automatic promotions are listed
+    public List<Promotion> getActivePromotions(Long restaurantId) {
+        return promotionRepository.findByActiveTrue().stream()
+                .filter(promotion -> promotion.getCode() == null)
+                .filter(promotion -> restaurantId == null || promotion.getRestaurantId() == null
+                        || promotion.getRestaurantId().equals(restaurantId))
+                .toList();
+    }
+
+    @Transactional
+    public Promotion createPromotion(String userEmail, boolean admin, Promotion request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new RuntimeException("Name is required");
+        }
+        if (request.getDiscountType() == null || request.getDiscountValue() == null
+                || request.getDiscountValue() <= 0) {
+            throw new RuntimeException("A positive discount is required");
+        }
+        if (request.getDiscountType() == DiscountType.PERCENTAGE && request.getDiscountValue() > 100) {
+            throw new RuntimeException("Percentage discount cannot exceed 100");
+        }
+        if (!admin) {
+            checkOwner(userEmail, request.getRestaurantId());
+        }
+        if (request.getCode() != null) {
+            String code = request.getCode().trim().toUpperCase(Locale.ROOT);
+            if (code.isEmpty()) {
+                code = null;
+            } else if (promotionRepository.existsByCode(code)) {
+                throw new RuntimeException("Coupon code already exists");
+            }
+            request.setCode(code);
+        }
+        request.setId(null);
+        request.setActive(true);
+        Promotion saved = promotionRepository.save(request);
+        eventPublisher.publishEvent(new PromotionsChangedEvent(saved.getId()));
+        return saved;
+    }
+
+    @Transactional
+    public void deactivatePromotion(String userEmail, boolean admin, Long promotionId) {
+        Promotion promotion = promotionRepository.findById(promotionId)
+                .orElseThrow(() -> new RuntimeException("Promotion not found"));
+        if (!admin) {
+            checkOwner(userEmail, promotion.getRestaurantId());
+        }
+        promotion.setActive(false);
+        promotionRepository.save(promotion);
+        eventPublisher.publishEvent(new PromotionsChangedEvent(promotionId));
+    }
+
+    // Owners may only manage promotions of their own restaurants
+    private void checkOwner(String userEmail, Long restaurantId) {
+        if (restaurantId == null) {
+            throw new RuntimeException("Unauthorized");
+        }
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+        if (restaurant.getOwner() == null || !restaurant.getOwner().getEmail().equals(userEmail)) {
+            throw new RuntimeException("Unauthorized");
+        }
+    }
+
+    private static PromotionQuote quote(PromotionContext context, PromotionIndex.Compiled promotion) {
+        if (promotion == null) {
+            return new PromotionQuote(context.restaurantId(), context.subtotal(), null, null, null, 0);
+        }
+        return new PromotionQuote(context.restaurantId(), context.subtotal(), promotion.id(), promotion.code(),
+                promotion.name(), promotion.discountFor(context));
+    }
+}
@@ -0,0 +1,304 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.RestaurantFilterResponse;
+import com.food.delivery.dto.RestaurantSummary;
+import com.food.delivery.event.CatalogRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// One bitmap per facet value over restaurant ordinals (position in id order).
+// A filter is an AND of facets, each an OR of its selected values, so any
+// combination costs a handful of word-wise bitmap operations.
+@Component
+public class RestaurantFacetIndex {
+
+    private static final double[] RATING_STEPS = { 3.0, 3.5, 4.0, 4.5 };
+    private static final int[] DELIVERY_STEPS = { 15, 20, 30, 45, 60 };
+
+    private volatile Facets facets = new Facets();
+
+    // A single-restaurant change copies the bitmaps and rewrites that restaurant's
+    // bits in place of a full rebuild; its ordinal stays put, new restaurants are
+    // appended and removed ones leave an empty slot until the next full reload
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        CatalogSnapshot snapshot = event.getSnapshot();
+        if (event.isFullReload()) {
+            Facets rebuilt = new Facets();
+            snapshot.getAllRestaurants().stream()
+                    .sorted(Comparator.comparing(CatalogRestaurant::id))
+                    .forEach(r -> rebuilt.put(r, snapshot.getMenu(r.id())));
+            facets = rebuilt;
+            return;
+        }
+        Facets next = facets.copy();
+        CatalogRestaurant restaurant = snapshot.getRestaurant(event.getRestaurantId());
+        if (restaurant != null) {
+            next.put(restaurant, snapshot.getMenu(restaurant.id()));
+        } else {
+            next.remove(event.getRestaurantId());
+        }
+        facets = next;
+    }
+
+    public RestaurantFilterResponse filter(List<String> cuisines, Boolean vegOnly, Double minRating,
+            Integer maxDeliveryTime, int limit) {
+        Facets current = facets;
+
+        BitSet base = current.active;
+        BitSet cuisineMatch = current.cuisines(cuisines);
+        BitSet vegMatch = Boolean.TRUE.equals(vegOnly) ? current.vegOnly : null;
+        BitSet ratingMatch = current.ratingAtLeast(minRating);
+        BitSet deliveryMatch = current.deliveryWithin(maxDeliveryTime);
+
+        BitSet result = and(base, cuisineMatch, vegMatch, ratingMatch, deliveryMatch);
+
+        RestaurantFilterResponse response = new RestaurantFilterResponse();
+        response.setTotal(result.cardinality());
+        List<RestaurantSummary> restaurants = new ArrayList<>(Math.min(limit, response.getTotal()));
+        for (int i = result.nextSetBit(0); i >= 0 && restaurants.size() < limit; i = result.nextSetBit(i + 1)) {
+            restaurants.add(RestaurantSummary.from(current.restaurants.get(i)));
+        }
+        response.setRestaurants(restaurants);
+
+        // Each facet is counted against every other active filter but not its own,
+        // so picking another value of the same facet widens the result as expected
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        BitSet withoutCuisine = and(base, null, vegMatch, ratingMatch, deliveryMatch);
+        Map<String, Integer> cuisineCounts = new TreeMap<>();
+        current.cuisineBits.forEach((key, bits) -> cuisineCounts.put(current.cuisineNames.get(key),
+                intersectCount(withoutCuisine, bits)));
+        counts.put("cuisine", cuisineCounts);
+
+        BitSet withoutVeg = and(base, cuisineMatch, null, ratingMatch, deliveryMatch);
+        counts.put("vegOnly", Map.of("true", intersectCount(withoutVeg, current.vegOnly)));
+
+        BitSet withoutRating = and(base, cuisineMatch, vegMatch, null, deliveryMatch);
+        Map<String, Integer> ratingCounts = new LinkedHashMap<>();
+        for (int i = 0; i < RATING_STEPS.length; i++) {
+            ratingCounts.put(RATING_STEPS[i] + "+", intersectCount(withoutRating, current.ratingSteps[i]));
+        }
+        counts.put("minRating", ratingCounts);
+
+        BitSet withoutDelivery = and(base, cuisineMatch, vegMatch, ratingMatch, null);
+        Map<String, Integer> deliveryCounts = new LinkedHashMap<>();
+        for (int i = 0; i < DELIVERY_STEPS.length; i++) {
+            deliveryCounts.put(String.valueOf(DELIVERY_STEPS[i]), intersectCount(withoutDelivery, current.deliverySteps[i]));
+        }
+        counts.put("maxDeliveryTime", deliveryCounts);
+
+        response.setFacets(counts);
+        return response;
+    }
+
+    private static BitSet and(BitSet base, BitSet... filters) {
+        BitSet result = (BitSet) base.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private static int intersectCount(BitSet a, BitSet b) {
+        BitSet copy = (BitSet) a.clone();
+        copy.and(b);
+        return copy.cardinality();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase();
+    }
+
+    // Never modified once published: changes are made to a copy that replaces it
+    private static final class Facets {
+        private final List<CatalogRestaurant> restaurants;
+        private final Map<Long, Integer> ordinals;
+        private double[] ratings;
+        private int[] deliveryTimes;
+        private final BitSet active;
+        private final BitSet vegOnly;
+        private final Map<String, BitSet> cuisineBits;
+        private final Map<String, String> cuisineNames;
+        private final BitSet[] ratingSteps = new BitSet[RATING_STEPS.length];
+        private final BitSet[] deliverySteps = new BitSet[DELIVERY_STEPS.length];
+
+        private Facets() {
+            restaurants = new ArrayList<>();
+            ordinals = new HashMap<>();
+            ratings = new double[16];
+            deliveryTimes = new int[16];
+            active = new BitSet();
+            vegOnly = new BitSet();
+            cuisineBits = new TreeMap<>();
+            cuisineNames = new TreeMap<>();
+            for (int i = 0; i < ratingSteps.length; i++) {
+                ratingSteps[i] = new BitSet();
+            }
+            for (int i = 0; i < deliverySteps.length; i++) {
+                deliverySteps[i] = new BitSet();
+            }
+        }
+
+        private Facets(Facets other) {
+            restaurants = new ArrayList<>(other.restaurants);
+            ordinals = new HashMap<>(other.ordinals);
+            ratings = other.ratings.clone();
+            deliveryTimes = other.deliveryTimes.clone();
+            active = (BitSet) other.active.clone();
+            vegOnly = (BitSet) other.vegOnly.clone();
+            cuisineBits = new TreeMap<>();
+            other.cuisineBits.forEach((key, bits) -> cuisineBits.put(key, (BitSet) bits.clone()));
+            cuisineNames = new TreeMap<>(other.cuisineNames);
+            for (int i = 0; i < ratingSteps.length; i++) {
+                ratingSteps[i] = (BitSet) other.ratingSteps[i].clone();
+            }
+            for (int i = 0; i < deliverySteps.length; i++) {
+                deliverySteps[i] = (BitSet) other.deliverySteps[i].clone();
+            }
+        }
+
+        private Facets copy() {
+            return new Facets(this);
+        }
+
+        private void put(CatalogRestaurant restaurant, List<CatalogMenuItem> menu) {
+            Integer existing = ordinals.get(restaurant.id());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                clear(ordinal);
+                restaurants.set(ordinal, restaurant);
+            } else {
+                ordinal = restaurants.size();
+                restaurants.add(restaurant);
+                ordinals.put(restaurant.id(), ordinal);
+                if (ordinal == ratings.length) {
+                    ratings = Arrays.copyOf(ratings, ordinal * 2);
+                    deliveryTimes = Arrays.copyOf(deliveryTimes, ordinal * 2);
+                }
+            }
+
+            if (restaurant.active()) {
+                active.set(ordinal);
+            }
+            if (restaurant.cuisineType() != null && !restaurant.cuisineType().isBlank()) {
+                String key = normalize(restaurant.cuisineType());
+                cuisineBits.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+                cuisineNames.putIfAbsent(key, restaurant.cuisineType().trim());
+            }
+            if (!menu.isEmpty() && menu.stream().allMatch(CatalogMenuItem::veg)) {
+                vegOnly.set(ordinal);
+            }
+
+            ratings[ordinal] = restaurant.avgRating() != null ? restaurant.avgRating() : 0.0;
+            for (int i = 0; i < RATING_STEPS.length; i++) {
+                if (ratings[ordinal] >= RATING_STEPS[i]) {
+                    ratingSteps[i].set(ordinal);
+                }
+            }
+            deliveryTimes[ordinal] = restaurant.deliveryTime() != null ? restaurant.deliveryTime()
+                    : Integer.MAX_VALUE;
+            for (int i = 0; i < DELIVERY_STEPS.length; i++) {
+                if (deliveryTimes[ordinal] <= DELIVERY_STEPS[i]) {
+                    deliverySteps[i].set(ordinal);
+                }
+            }
+        }
+
+        // The slot stays, with every bit cleared, so it can never match again
+        private void remove(Long restaurantId) {
+            Integer ordinal = ordinals.get(restaurantId);
+            if (ordinal != null) {
+                clear(ordinal);
+            }
+        }
+
+        private void clear(int ordinal) {
+            active.clear(ordinal);
+            vegOnly.clear(ordinal);
+            cuisineBits.values().removeIf(bits -> {
+                bits.clear(ordinal);
+                return bits.isEmpty();
+            });
+            cuisineNames.keySet().retainAll(cuisineBits.keySet());
+            for (BitSet bits : ratingSteps) {
+                bits.clear(ordinal);
+            }
+            for (BitSet bits : deliverySteps) {
+                bits.clear(ordinal);
+            }
+        }
+
+        private BitSet all() {
+            BitSet all = new BitSet(restaurants.size());
+            all.set(0, restaurants.size());
+            return all;
+        }
+
+        private BitSet cuisines(List<String> values) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            BitSet union = new BitSet(restaurants.size());
+            for (String value : values) {
+                BitSet bits = cuisineBits.get(normalize(value));
+                if (bits != null) {
+                    union.or(bits);
+                }
+            }
+            return union;
+        }
+
+        // Starts from the nearest precomputed step and only checks the few
+        // restaurants in between when the threshold is not a step itself
+        private BitSet ratingAtLeast(Double minRating) {
+            if (minRating == null) {
+                return null;
+            }
+            int step = -1;
+            for (int i = 0; i < RATING_STEPS.length && RATING_STEPS[i] <= minRating; i++) {
+                step = i;
+            }
+            BitSet bits = step >= 0 ? (BitSet) ratingSteps[step].clone() : all();
+            if (step < 0 || RATING_STEPS[step] != minRating) {
+                for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                    if (ratings[i] < minRating) {
+                        bits.clear(i);
+                    }
+                }
+            }
+            return bits;
+        }
+
+        private BitSet deliveryWithin(Integer maxDeliveryTime) {
+            if (maxDeliveryTime == null) {
+                return null;
+            }
+            int step = -1;
+            for (int i = DELIVERY_STEPS.length - 1; i >= 0 && DELIVERY_STEPS[i] >= maxDeliveryTime; i--) {
+                step = i;
+            }
+            BitSet bits = step >= 0 ? (BitSet) deliverySteps[step].clone() : all();
+            if (step < 0 || DELIVERY_STEPS[step] != maxDeliveryTime) {
+                for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                    if (deliveryTimes[i] > maxDeliveryTime) {
+                        bits.clear(i);
+                    }
+                }
+            }
+            return bits;
+        }
+    }
+}
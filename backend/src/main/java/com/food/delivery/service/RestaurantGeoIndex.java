@@ -0,0 +1,147 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.NearbyRestaurant;
+import com.food.delivery.dto.RestaurantSummary;
+import com.food.delivery.event.CatalogRefreshedEvent;
+import com.food.delivery.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Fixed lat/lng grid where each restaurant is registered in every cell its
+// delivery circle overlaps. "Who delivers here" is then one cell lookup plus an
+// exact distance check on that cell's few candidates, independent of catalog size.
+// Longitude cells wrap around, so circles crossing the antimeridian are found from
+// either side.
+@Component
+public class RestaurantGeoIndex {
+
+    private static final double CELL_DEGREES = 0.05; // ~5.5 km of latitude
+    private static final long LNG_CELLS = Math.round(360 / CELL_DEGREES);
+
+    @Value("${app.geo.default-delivery-radius-km:5}")
+    private double defaultRadiusKm;
+
+    @Value("${app.geo.max-delivery-radius-km:25}")
+    private double maxRadiusKm;
+
+    private final Map<Long, Set<CatalogRestaurant>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, List<Long>> cellsByRestaurant = new ConcurrentHashMap<>();
+    private final Map<Long, CatalogRestaurant> indexed = new ConcurrentHashMap<>();
+    // Active restaurants without valid coordinates, which no cell can hold
+    private final Map<Long, CatalogRestaurant> unlocated = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        CatalogSnapshot snapshot = event.getSnapshot();
+        if (event.isFullReload()) {
+            List.copyOf(indexed.keySet()).forEach(this::remove);
+            List.copyOf(unlocated.keySet()).forEach(this::remove);
+            snapshot.getActiveRestaurants().forEach(this::add);
+        } else {
+            remove(event.getRestaurantId());
+            CatalogRestaurant restaurant = snapshot.getRestaurant(event.getRestaurantId());
+            if (restaurant != null && restaurant.active()) {
+                add(restaurant);
+            }
+        }
+    }
+
+    // Active restaurants whose delivery radius covers the point, nearest first
+    public List<NearbyRestaurant> findServing(double lat, double lng, int limit) {
+        Set<CatalogRestaurant> candidates = cells.get(cellKey(latCell(lat), lngCell(lng)));
+        if (candidates == null) {
+            return List.of();
+        }
+        List<NearbyRestaurant> result = new ArrayList<>();
+        for (CatalogRestaurant restaurant : candidates) {
+            double radius = radiusOf(restaurant);
+            if (Math.abs(restaurant.latitude() - lat) * GeoUtils.KM_PER_DEGREE_LAT > radius) {
+                continue; // cheap latitude-only reject before the trigonometry
+            }
+            double distance = GeoUtils.distanceKm(lat, lng, restaurant.latitude(), restaurant.longitude());
+            if (distance <= radius) {
+                result.add(new NearbyRestaurant(RestaurantSummary.from(restaurant), distance));
+            }
+        }
+        result.sort(Comparator.comparingDouble(NearbyRestaurant::getDistanceKm));
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    public List<CatalogRestaurant> findUnlocated() {
+        return List.copyOf(unlocated.values());
+    }
+
+    public boolean delivers(CatalogRestaurant restaurant, double lat, double lng) {
+        return GeoUtils.distanceKm(lat, lng, restaurant.latitude(), restaurant.longitude()) <= radiusOf(restaurant);
+    }
+
+    private void add(CatalogRestaurant restaurant) {
+        if (!GeoUtils.isValid(restaurant.latitude(), restaurant.longitude())) {
+            unlocated.put(restaurant.id(), restaurant);
+            return;
+        }
+        double radius = radiusOf(restaurant);
+        double lat = restaurant.latitude();
+        double lng = restaurant.longitude();
+        double dLat = radius / GeoUtils.KM_PER_DEGREE_LAT;
+        // Longitude degrees shrink toward the poles, so size the span at the
+        // circle's poleward edge rather than its centre
+        double edgeLat = Math.min(90, Math.abs(lat) + dLat);
+        double cosLat = Math.max(Math.cos(Math.toRadians(edgeLat)), 0.01);
+        double dLng = radius / (GeoUtils.KM_PER_DEGREE_LAT * cosLat);
+        long firstLng = (long) Math.floor((lng - dLng + 180) / CELL_DEGREES);
+        long lngSpan = Math.min((long) Math.floor((lng + dLng + 180) / CELL_DEGREES) - firstLng, LNG_CELLS - 1);
+
+        List<Long> keys = new ArrayList<>();
+        for (long latCell = latCell(lat - dLat); latCell <= latCell(lat + dLat); latCell++) {
+            for (long offset = 0; offset <= lngSpan; offset++) {
+                long key = cellKey(latCell, Math.floorMod(firstLng + offset, LNG_CELLS));
+                cells.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(restaurant);
+                keys.add(key);
+            }
+        }
+        cellsByRestaurant.put(restaurant.id(), keys);
+        indexed.put(restaurant.id(), restaurant);
+    }
+
+    private void remove(Long restaurantId) {
+        unlocated.remove(restaurantId);
+        CatalogRestaurant restaurant = indexed.remove(restaurantId);
+        List<Long> keys = cellsByRestaurant.remove(restaurantId);
+        if (restaurant == null || keys == null) {
+            return;
+        }
+        for (Long key : keys) {
+            cells.computeIfPresent(key, (k, members) -> {
+                members.remove(restaurant);
+                return members.isEmpty() ? null : members;
+            });
+        }
+    }
+
+    private double radiusOf(CatalogRestaurant restaurant) {
+        Double radius = restaurant.deliveryRadiusKm();
+        return Math.min(radius != null && radius > 0 ? radius : defaultRadiusKm, maxRadiusKm);
+    }
+
+    private static long latCell(double lat) {
+        return (long) Math.floor((Math.max(-90, Math.min(90, lat)) + 90) / CELL_DEGREES);
+    }
+
+    // 180 and -180 are the same meridian and land in the same cell
+    private static long lngCell(double lng) {
+        return Math.floorMod((long) Math.floor((lng + 180) / CELL_DEGREES), LNG_CELLS);
+    }
+
+    private static long cellKey(long latCell, long lngCell) {
+        return latCell * LNG_CELLS + lngCell;
+    }
+}
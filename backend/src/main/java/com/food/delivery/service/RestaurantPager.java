@@ -0,0 +1,127 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.RestaurantPage;
+import com.food.delivery.dto.RestaurantSort;
+import com.food.delivery.dto.RestaurantSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+// Keyset pagination over a list already sorted by the requested order. The cursor
+// carries the sort key of the last row served, and the next page starts right
+// after it via binary search, so any page costs O(log n + page size).
+final class RestaurantPager {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 50;
+
+    private static final String RELEVANCE = "RELEVANCE";
+
+    private RestaurantPager() {
+    }
+
+    static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    static RestaurantPage page(List<RestaurantSummary> sorted, RestaurantSort sort, String cursor, int pageSize) {
+        int from = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            int index = Collections.binarySearch(sorted, decode(cursor, sort), sort.getComparator());
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+        int to = Math.min(from + pageSize, sorted.size());
+        List<RestaurantSummary> items = List.copyOf(sorted.subList(Math.min(from, to), to));
+        String nextCursor = to < sorted.size() && !items.isEmpty() ? encode(items.get(items.size() - 1), sort) : null;
+        return new RestaurantPage(items, nextCursor);
+    }
+
+    // Relevance pages straight off unordered search hits. The cursor is the
+    // (score, id) of the last hit served; the next page keeps only hits ranked
+    // after it and picks the best pageSize with a bounded heap, so a page costs
+    // O(hits log pageSize) however many restaurants matched. Hits whose
+    // restaurant has no card (gone from the catalog) are skipped.
+    static RestaurantPage pageByRelevance(List<RestaurantSearchIndex.Hit> hits,
+            Function<Long, RestaurantSummary> cards, String cursor, int pageSize) {
+        RestaurantSearchIndex.Hit after = cursor == null || cursor.isBlank() ? null : decodeRelevance(cursor);
+        Comparator<RestaurantSearchIndex.Hit> order = RestaurantSearchIndex.RELEVANCE;
+        PriorityQueue<RestaurantSearchIndex.Hit> best = new PriorityQueue<>(order.reversed());
+        Map<Long, RestaurantSummary> picked = new HashMap<>();
+        int remaining = 0;
+        for (RestaurantSearchIndex.Hit hit : hits) {
+            if (after != null && order.compare(hit, after) <= 0) {
+                continue;
+            }
+            RestaurantSummary card = cards.apply(hit.restaurantId());
+            if (card == null) {
+                continue;
+            }
+            remaining++;
+            best.add(hit);
+            picked.put(hit.restaurantId(), card);
+            if (best.size() > pageSize) {
+                picked.remove(best.poll().restaurantId());
+            }
+        }
+        List<RestaurantSearchIndex.Hit> page = new ArrayList<>(best);
+        page.sort(order);
+        List<RestaurantSummary> items = page.stream().map(hit -> picked.get(hit.restaurantId())).toList();
+        String nextCursor = remaining > page.size() ? encodeRelevance(page.get(page.size() - 1)) : null;
+        return new RestaurantPage(items, nextCursor);
+    }
+
+    private static String encodeRelevance(RestaurantSearchIndex.Hit last) {
+        String raw = RELEVANCE + "|" + last.score() + "|" + last.restaurantId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static RestaurantSearchIndex.Hit decodeRelevance(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(RELEVANCE)) {
+                throw new IllegalArgumentException();
+            }
+            return new RestaurantSearchIndex.Hit(Long.parseLong(parts[2]), Integer.parseInt(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    private static String encode(RestaurantSummary last, RestaurantSort sort) {
+        String value = switch (sort) {
+            case RATING -> String.valueOf(RestaurantSort.rating(last));
+            case DELIVERY_TIME -> String.valueOf(RestaurantSort.deliveryTime(last));
+            case ID -> "";
+        };
+        String raw = sort.name() + "|" + value + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Rebuilds a probe row with just the sort key of the cursor
+    private static RestaurantSummary decode(String cursor, RestaurantSort sort) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new IllegalArgumentException();
+            }
+            RestaurantSummary probe = new RestaurantSummary();
+            probe.setId(Long.parseLong(parts[2]));
+            if (sort == RestaurantSort.RATING) {
+                probe.setAvgRating(Double.parseDouble(parts[1]));
+            } else if (sort == RestaurantSort.DELIVERY_TIME) {
+                probe.setDeliveryTime(Integer.parseInt(parts[1]));
+            }
+            return probe;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.food.delivery.service;
+
+import com.food.delivery.event.CatalogRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+
+// Trigram inverted index over active restaurants: name, cuisine, and the names and
+// descriptions of their dishes. Matching on shared trigrams rather than substrings
+// gives typo tolerance ("piza" still finds "pizza") and a relevance score.
+@Component
+public class RestaurantSearchIndex {
+
+    private static final int NAME_WEIGHT = 4;
+    private static final int CUISINE_WEIGHT = 3;
+    private static final int DISH_NAME_WEIGHT = 2;
+    private static final int DISH_DESCRIPTION_WEIGHT = 1;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Share of the query's trigrams a restaurant must contain to be a hit
+    private static final double MIN_MATCH_RATIO = 0.5;
+
+    // Changed restaurants are scored the slow way, and their stale posting
+    // entries kept, until they reach this share of the index and it is rebuilt
+    private static final double MAX_CHANGED_RATIO = 0.125;
+
+    // trigram -> small int id, shared by every index generation. Only grows, and
+    // only by the distinct trigrams ever seen, which the alphabet keeps small.
+    private final Map<String, Integer> gramIds = new ConcurrentHashMap<>();
+
+    private volatile Index current = Index.of(List.of());
+
+    // A full reload is built off to the side and swapped in. A single-restaurant
+    // change costs only the trigrams it adds or reweighs: the restaurant is first
+    // flagged as changed, then its ordinal is appended to those posting lists,
+    // then its new document is published in its slot. Posting lists may still
+    // name it for trigrams it has lost, so readers score a changed restaurant from
+    // its current document instead of from the postings, and always see it either
+    // wholly before or wholly after the change. The index is rebuilt once changed
+    // restaurants pile up, which also drops their stale entries.
+    @EventListener
+    public synchronized void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        if (event.isRatingOnly()) {
+            return; // ratings do not affect matching or relevance
+        }
+        CatalogSnapshot snapshot = event.getSnapshot();
+        if (event.isFullReload()) {
+            List<Document> documents = new ArrayList<>();
+            for (CatalogRestaurant restaurant : snapshot.getActiveRestaurants()) {
+                documents.add(document(restaurant.id(), weights(restaurant, snapshot.getMenu(restaurant.id()))));
+            }
+            current = Index.of(documents);
+            return;
+        }
+
+        Long id = event.getRestaurantId();
+        CatalogRestaurant restaurant = snapshot.getRestaurant(id);
+        Document document = restaurant != null && restaurant.active()
+                ? document(id, weights(restaurant, snapshot.getMenu(id))) : null;
+        Index index = current;
+        Integer ordinal = index.ordinals.get(id);
+        if (ordinal == null) {
+            if (document == null) {
+                return;
+            }
+            if (index.nextOrdinal == index.documents.length()) {
+                List<Document> documents = index.liveDocuments();
+                documents.add(document);
+                current = Index.of(documents);
+                return;
+            }
+            ordinal = index.nextOrdinal++;
+            index.ordinals.put(id, ordinal);
+        }
+        Document previous = index.documents.get(ordinal);
+        if (previous != null && document != null && Arrays.equals(previous.grams, document.grams)
+                && Arrays.equals(previous.weights, document.weights)) {
+            return;
+        }
+
+        if (index.changed.getAndSet(ordinal, 1) == 0) {
+            index.changedCount++;
+        }
+        int slot = ordinal;
+        if (document != null) {
+            for (int i = 0; i < document.grams.length; i++) {
+                if (previous == null || previous.weightOf(document.grams[i]) != document.weights[i]) {
+                    byte weight = document.weights[i];
+                    index.postings.merge(document.grams[i], Posting.of(slot, weight),
+                            (posting, added) -> posting.append(slot, weight));
+                }
+            }
+        }
+        index.documents.set(ordinal, document);
+        if (index.changedCount > Math.max(1024, index.nextOrdinal * MAX_CHANGED_RATIO)) {
+            current = Index.of(index.liveDocuments());
+        }
+    }
+
+    // A matching restaurant and its relevance score (sum of matched trigram weights)
+    public record Hit(long restaurantId, int score) {
+    }
+
+    // Best match first: higher score, then lower id, so the order is total and
+    // (score, id) works as a keyset cursor
+    public static final Comparator<Hit> RELEVANCE = (a, b) -> a.score() != b.score()
+            ? Integer.compare(b.score(), a.score()) : Long.compare(a.restaurantId(), b.restaurantId());
+
+    // Returns matching restaurant ids, best match first
+    public List<Long> search(String query, int limit) {
+        PriorityQueue<Hit> best = new PriorityQueue<>(RELEVANCE.reversed());
+        for (Hit hit : hits(query)) {
+            if (best.size() < limit) {
+                best.add(hit);
+            } else if (limit > 0 && RELEVANCE.compare(hit, best.peek()) < 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+        return best.stream().sorted(RELEVANCE).map(Hit::restaurantId).toList();
+    }
+
+    // Every match, in no particular order
+    public List<Hit> hits(String query) {
+        Set<String> queryGrams = trigrams(query);
+        if (queryGrams.isEmpty()) {
+            return List.of();
+        }
+        int minMatches = (int) Math.ceil(queryGrams.size() * MIN_MATCH_RATIO);
+        Index index = current;
+        int[] known = new int[queryGrams.size()];
+        int knownCount = 0;
+        for (String gram : queryGrams) {
+            Integer gramId = gramIds.get(gram);
+            if (gramId != null) {
+                known[knownCount++] = gramId;
+            }
+        }
+        if (knownCount < minMatches) {
+            return List.of();
+        }
+
+        // Matched trigrams and weight per ordinal, straight from the postings
+        int capacity = index.documents.length();
+        int[] counts = new int[capacity];
+        int[] scores = new int[capacity];
+        for (int i = 0; i < knownCount; i++) {
+            Posting posting = index.postings.get(known[i]);
+            if (posting == null) {
+                continue;
+            }
+            for (int j = 0; j < posting.size(); j++) {
+                int ordinal = posting.ordinals()[j];
+                counts[ordinal]++;
+                scores[ordinal] += posting.weights()[j];
+            }
+        }
+
+        // Read after the scan: a restaurant that changed while it ran is already
+        // flagged, so only untouched ones are taken at their posting counts
+        known = Arrays.copyOf(known, knownCount);
+        List<Hit> result = new ArrayList<>();
+        for (int ordinal = 0; ordinal < capacity; ordinal++) {
+            if (counts[ordinal] == 0) {
+                continue;
+            }
+            if (index.changed.get(ordinal) == 0) {
+                if (counts[ordinal] >= minMatches) {
+                    result.add(new Hit(index.restaurantIds[ordinal], scores[ordinal]));
+                }
+                continue;
+            }
+            Document document = index.documents.get(ordinal);
+            if (document == null) {
+                continue;
+            }
+            int matched = 0;
+            int score = 0;
+            for (int gram : known) {
+                int weight = document.weightOf(gram);
+                if (weight > 0) {
+                    matched++;
+                    score += weight;
+                }
+            }
+            if (matched >= minMatches) {
+                result.add(new Hit(document.restaurantId, score));
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Integer> weights(CatalogRestaurant restaurant, List<CatalogMenuItem> menu) {
+        Map<String, Integer> weights = new HashMap<>();
+        collect(weights, restaurant.name(), NAME_WEIGHT);
+        collect(weights, restaurant.cuisineType(), CUISINE_WEIGHT);
+        for (CatalogMenuItem item : menu) {
+            collect(weights, item.name(), DISH_NAME_WEIGHT);
+            collect(weights, item.description(), DISH_DESCRIPTION_WEIGHT);
+        }
+        return weights;
+    }
+
+    private static void collect(Map<String, Integer> weights, String text, int weight) {
+        for (String gram : trigrams(text)) {
+            weights.merge(gram, weight, Math::max);
+        }
+    }
+
+    // Only called by the indexing thread, which is the only one assigning ids
+    private Document document(long restaurantId, Map<String, Integer> weights) {
+        long[] packed = new long[weights.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            int gramId = gramIds.computeIfAbsent(entry.getKey(), gram -> gramIds.size());
+            packed[i++] = (long) gramId << 8 | entry.getValue();
+        }
+        Arrays.sort(packed);
+        int[] grams = new int[packed.length];
+        byte[] gramWeights = new byte[packed.length];
+        for (i = 0; i < packed.length; i++) {
+            grams[i] = (int) (packed[i] >>> 8);
+            gramWeights[i] = (byte) packed[i];
+        }
+        return new Document(restaurantId, grams, gramWeights);
+    }
+
+    // A restaurant's trigram ids in ascending order, each with the best field
+    // weight containing it. Never modified once published.
+    private record Document(long restaurantId, int[] grams, byte[] weights) {
+
+        int weightOf(int gram) {
+            int at = Arrays.binarySearch(grams, gram);
+            return at >= 0 ? weights[at] : 0;
+        }
+    }
+
+    // Restaurants live in dense ordinal slots so postings are plain int arrays and
+    // a query can tally them in flat arrays. Only the indexing thread writes. A
+    // restaurant keeps its ordinal until the next rebuild, and restaurantIds is
+    // only read for ordinals that have not changed since the rebuild.
+    private static final class Index {
+        final AtomicReferenceArray<Document> documents;
+        final long[] restaurantIds;
+        final AtomicIntegerArray changed;
+        final Map<Long, Integer> ordinals = new ConcurrentHashMap<>();
+        final Map<Integer, Posting> postings = new ConcurrentHashMap<>();
+        int nextOrdinal;
+        int changedCount;
+
+        private Index(int capacity) {
+            documents = new AtomicReferenceArray<>(capacity);
+            restaurantIds = new long[capacity];
+            changed = new AtomicIntegerArray(capacity);
+        }
+
+        // Leaves room for as many new restaurants as there are now
+        static Index of(List<Document> documents) {
+            Index index = new Index(Math.max(1024, documents.size() * 2));
+            Map<Integer, Posting> postings = new HashMap<>();
+            for (Document document : documents) {
+                int ordinal = index.nextOrdinal++;
+                index.documents.set(ordinal, document);
+                index.restaurantIds[ordinal] = document.restaurantId;
+                index.ordinals.put(document.restaurantId, ordinal);
+                for (int i = 0; i < document.grams.length; i++) {
+                    byte weight = document.weights[i];
+                    postings.merge(document.grams[i], Posting.of(ordinal, weight),
+                            (posting, added) -> posting.append(ordinal, weight));
+                }
+            }
+            index.postings.putAll(postings);
+            return index;
+        }
+
+        List<Document> liveDocuments() {
+            List<Document> live = new ArrayList<>();
+            for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+                if (documents.get(ordinal) != null) {
+                    live.add(documents.get(ordinal));
+                }
+            }
+            return live;
+        }
+    }
+
+    // An append-only list of (ordinal, weight). Appending writes past the end of
+    // the shared arrays, which no published Posting reads, and publishes a new
+    // Posting with the longer size; the arrays are only copied when full.
+    private record Posting(int[] ordinals, byte[] weights, int size) {
+
+        static Posting of(int ordinal, byte weight) {
+            Posting posting = new Posting(new int[4], new byte[4], 0);
+            return posting.append(ordinal, weight);
+        }
+
+        Posting append(int ordinal, byte weight) {
+            int[] nextOrdinals = size < ordinals.length ? ordinals : Arrays.copyOf(ordinals, ordinals.length * 2);
+            byte[] nextWeights = size < weights.length ? weights : Arrays.copyOf(weights, weights.length * 2);
+            nextOrdinals[size] = ordinal;
+            nextWeights[size] = weight;
+            return new Posting(nextOrdinals, nextWeights, size + 1);
+        }
+    }
+
+    // Lower-cased words padded like pg_trgm ("  word "), so word starts weigh in
+    // and one- or two-letter queries still produce trigrams
+    static Set<String> trigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        for (String word : NON_WORD.split(text.toLowerCase())) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+}
@@ -1,19 +1,43 @@
 package com.food.delivery.service;
 
+import com.food.delivery.dto.MenuItemSummary;
+import com.food.delivery.dto.NearbyRestaurant;
+import com.food.delivery.dto.RestaurantDetail;
+import com.food.delivery.dto.RestaurantFilterResponse;
+import com.food.delivery.dto.RestaurantPage;
+import com.food.delivery.dto.RestaurantSort;
+import com.food.delivery.dto.RestaurantSummary;
+import com.food.delivery.dto.Suggestion;
+import com.food.delivery.event.CatalogChangedEvent;
+import com.food.delivery.event.MenuItemPriceChangedEvent;
 import com.food.delivery.model.MenuItem;
 import com.food.delivery.model.Restaurant;
 import com.food.delivery.model.User;
 import com.food.delivery.repository.MenuItemRepository;
 import com.food.delivery.repository.RestaurantRepository;
 import com.food.delivery.repository.UserRepository;
+import com.food.delivery.util.GeoUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class RestaurantService {
 
+    private static final int SEARCH_LIMIT = 50;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_BATCH_MENUS = 50;
+
     @Autowired
     private RestaurantRepository restaurantRepository;
 
@@ -23,39 +47,224 @@ public class RestaurantService {
     @Autowired
     private UserRepository userRepository;
 
-    public List<Restaurant> getAllRestaurants() {
-        return restaurantRepository.findByIsActiveTrue();
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private RestaurantSearchIndex searchIndex;
+
+    @Autowired
+    private RestaurantSuggestIndex suggestIndex;
+
+    @Autowired
+    private RestaurantFacetIndex facetIndex;
+
+    @Autowired
+    private RestaurantGeoIndex geoIndex;
+
+    @Autowired
+    private DeliveryZoneService deliveryZoneService;
+
+    @Autowired
+    private MenuAvailabilityService menuAvailabilityService;
+
+    public RestaurantPage getRestaurantPage(RestaurantSort sort, String cursor, Integer limit) {
+        return RestaurantPager.page(catalogCache.snapshot().getActiveSummaries(sort), sort, cursor,
+                RestaurantPager.pageSize(limit));
     }
 
-    public Restaurant getRestaurantById(Long id) {
-        return restaurantRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+    public RestaurantDetail getRestaurantById(Long id) {
+        CatalogRestaurant restaurant = catalogCache.snapshot().getRestaurant(id);
+        if (restaurant == null) {
+            throw new RuntimeException("Restaurant not found");
+        }
+        return RestaurantDetail.from(restaurant);
+    }
+
+    public String getCatalogEtag() {
+        return catalogCache.getEpoch() + "-" + catalogCache.snapshot().getVersion();
+    }
+
+    // Null when the restaurant is unknown, so callers fall through to the usual error
+    public String getRestaurantEtag(Long restaurantId) {
+        Long version = catalogCache.snapshot().getRestaurantVersion(restaurantId);
+        return version != null ? catalogCache.getEpoch() + "-r" + restaurantId + "-" + version : null;
     }
 
-    public List<Restaurant> searchRestaurants(String query) {
-        return restaurantRepository.findByNameContainingIgnoreCase(query);
+    // Menus overlay live availability, so their tags carry its version too
+    public String getMenuEtag(Long restaurantId) {
+        String etag = getRestaurantEtag(restaurantId);
+        return etag != null ? etag + "-a" + menuAvailabilityService.getVersion(restaurantId) : null;
     }
 
+    public String getMenusEtag() {
+        return getCatalogEtag() + "-a" + menuAvailabilityService.getVersion();
+    }
+
+    // First pages of these sizes are what the response cache can be keyed on
+    public int getPageSize(Integer limit) {
+        return RestaurantPager.pageSize(limit);
+    }
+
+    // Every match is considered, with no cap. Without a sort, matches are served in
+    // relevance order with a (score, id) keyset cursor; with one, they are sorted
+    // and paged like the plain list.
+    public RestaurantPage searchRestaurants(String query, RestaurantSort sort, String cursor, Integer limit) {
+        CatalogSnapshot snapshot = catalogCache.snapshot();
+        int pageSize = RestaurantPager.pageSize(limit);
+        if (query == null || query.isBlank()) {
+            RestaurantSort order = sort != null ? sort : RestaurantSort.ID;
+            return RestaurantPager.page(snapshot.getActiveSummaries(order), order, cursor, pageSize);
+        }
+
+        List<RestaurantSearchIndex.Hit> hits = searchIndex.hits(query);
+        if (sort == null) {
+            return RestaurantPager.pageByRelevance(hits, id -> summaryOf(snapshot, id), cursor, pageSize);
+        }
+        List<RestaurantSummary> matches = hits.stream()
+                .map(hit -> summaryOf(snapshot, hit.restaurantId()))
+                .filter(Objects::nonNull)
+                .sorted(sort.getComparator())
+                .toList();
+        return RestaurantPager.page(matches, sort, cursor, pageSize);
+    }
+
+    // Null when the index is briefly ahead of or behind the snapshot
+    private static RestaurantSummary summaryOf(CatalogSnapshot snapshot, Long restaurantId) {
+        CatalogRestaurant restaurant = snapshot.getRestaurant(restaurantId);
+        return restaurant != null && restaurant.active() ? RestaurantSummary.from(restaurant) : null;
+    }
+
+    public List<Suggestion> suggest(String prefix, Integer limit) {
+        int boundedLimit = limit == null ? 8 : Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        catalogCache.snapshot(); // makes sure the suggester has been built
+        return suggestIndex.suggest(prefix, boundedLimit);
+    }
+
+    public RestaurantFilterResponse filterRestaurants(List<String> cuisines, Boolean vegOnly, Double minRating,
+            Integer maxDeliveryTime) {
+        catalogCache.snapshot(); // makes sure the facet bitmaps have been built
+        return facetIndex.filter(cuisines, vegOnly, minRating, maxDeliveryTime, SEARCH_LIMIT);
+    }
+
+    public List<NearbyRestaurant> findNearbyRestaurants(Double lat, Double lng) {
+        if (!GeoUtils.isValid(lat, lng)) {
+            throw new RuntimeException("Invalid coordinates");
+        }
+        catalogCache.snapshot(); // makes sure the grid has been built
+        return geoIndex.findServing(lat, lng, SEARCH_LIMIT);
+    }
+
+    // Same rule as checkout (DeliveryZoneService.isServiceable), answered from the
+    // indexes: zone hits, radius hits for zone-less restaurants, then zone-less
+    // restaurants with no location. Nearest first; unlocated ones last.
+    public List<RestaurantSummary> findRestaurantsServing(Double lat, Double lng) {
+        if (!GeoUtils.isValid(lat, lng)) {
+            throw new RuntimeException("Invalid coordinates");
+        }
+        CatalogSnapshot snapshot = catalogCache.snapshot();
+        Map<Long, Double> distances = new HashMap<>();
+        Map<Long, RestaurantSummary> served = new HashMap<>();
+        for (Long id : deliveryZoneService.getRestaurantsServing(lat, lng)) {
+            CatalogRestaurant restaurant = snapshot.getRestaurant(id);
+            if (restaurant != null && restaurant.active()) {
+                served.put(id, RestaurantSummary.from(restaurant));
+                if (GeoUtils.isValid(restaurant.latitude(), restaurant.longitude())) {
+                    distances.put(id, GeoUtils.distanceKm(lat, lng, restaurant.latitude(), restaurant.longitude()));
+                }
+            }
+        }
+        for (NearbyRestaurant nearby : geoIndex.findServing(lat, lng, Integer.MAX_VALUE)) {
+            Long id = nearby.getRestaurant().getId();
+            if (!deliveryZoneService.hasZones(id)) {
+                served.put(id, nearby.getRestaurant());
+                distances.put(id, nearby.getDistanceKm());
+            }
+        }
+        for (CatalogRestaurant restaurant : geoIndex.findUnlocated()) {
+            if (!deliveryZoneService.hasZones(restaurant.id())) {
+                served.put(restaurant.id(), RestaurantSummary.from(restaurant));
+            }
+        }
+        return served.values().stream()
+                .sorted(Comparator.comparingDouble((RestaurantSummary r) -> distances.getOrDefault(r.getId(),
+                        Double.MAX_VALUE)).thenComparing(RestaurantSummary::getId))
+                .toList();
+    }
+
+    @Transactional
     public Restaurant createRestaurant(Restaurant restaurant, String ownerEmail) {
         User owner = userRepository.findByEmail(ownerEmail)
                 .orElseThrow(() -> new RuntimeException("Owner not found"));
         restaurant.setOwner(owner);
-        return restaurantRepository.save(restaurant);
+        restaurant.setAvgRating(0.0);
+        restaurant.setRatingSum(0);
+        restaurant.setRatingCount(0);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new CatalogChangedEvent(saved.getId()));
+        return saved;
     }
 
+    @Transactional
     public MenuItem addMenuItem(Long restaurantId, MenuItem menuItem) {
-        Restaurant restaurant = getRestaurantById(restaurantId);
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
         menuItem.setRestaurant(restaurant);
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        eventPublisher.publishEvent(new CatalogChangedEvent(restaurantId));
+        return saved;
+    }
+
+    public List<CatalogMenuItem> getMenuByRestaurant(Long restaurantId) {
+        return catalogCache.snapshot().getMenu(restaurantId);
+    }
+
+    public List<MenuItemSummary> getMenuSummaries(Long restaurantId) {
+        return menuSummaries(restaurantId, getMenuByRestaurant(restaurantId));
+    }
+
+    // All menus come from one snapshot, so the batch is consistent and needs no query;
+    // unknown restaurant ids are left out of the result
+    public Map<Long, List<MenuItemSummary>> getMenuSummaries(List<Long> restaurantIds) {
+        if (restaurantIds == null || restaurantIds.isEmpty()) {
+            throw new RuntimeException("No restaurant ids given");
+        }
+        Set<Long> ids = new LinkedHashSet<>(restaurantIds);
+        if (ids.size() > MAX_BATCH_MENUS) {
+            throw new RuntimeException("At most " + MAX_BATCH_MENUS + " restaurants per request");
+        }
+        CatalogSnapshot snapshot = catalogCache.snapshot();
+        Map<Long, List<MenuItemSummary>> menus = new LinkedHashMap<>();
+        for (Long id : ids) {
+            if (id != null && snapshot.getRestaurant(id) != null) {
+                menus.put(id, menuSummaries(id, snapshot.getMenu(id)));
+            }
+        }
+        return menus;
     }
 
-    public List<MenuItem> getMenuByRestaurant(Long restaurantId) {
-        return menuItemRepository.findByRestaurantId(restaurantId);
+    // Availability toggles skip the snapshot, so the flag comes from the live bitset
+    private List<MenuItemSummary> menuSummaries(Long restaurantId, List<CatalogMenuItem> menu) {
+        return menu.stream().map(item -> {
+            MenuItemSummary summary = MenuItemSummary.from(item);
+            summary.setAvailable(menuAvailabilityService.isAvailable(restaurantId, item.id(), item.available()));
+            return summary;
+        }).toList();
+    }
+
+    public MenuItem getMenuItemById(Long id) {
+        return menuItemRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Menu item not found"));
     }
 
+    @Transactional
     public MenuItem updateMenuItem(Long id, MenuItem itemDetails) {
         MenuItem menuItem = menuItemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Menu item not found"));
+        boolean priceChanged = !Objects.equals(menuItem.getPrice(), itemDetails.getPrice());
 
         menuItem.setName(itemDetails.getName());
         menuItem.setDescription(itemDetails.getDescription());
@@ -63,18 +272,25 @@ public class RestaurantService {
         menuItem.setVeg(itemDetails.isVeg());
         menuItem.setImageUrl(itemDetails.getImageUrl());
 
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        eventPublisher.publishEvent(new CatalogChangedEvent(saved.getRestaurant().getId()));
+        if (priceChanged && saved.getPrice() != null) {
+            eventPublisher.publishEvent(new MenuItemPriceChangedEvent(saved.getId(), saved.getPrice()));
+        }
+        return saved;
     }
 
+    @Transactional
     public void deleteMenuItem(Long id) {
         MenuItem menuItem = menuItemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Menu item not found"));
         menuItemRepository.delete(menuItem);
+        eventPublisher.publishEvent(new CatalogChangedEvent(menuItem.getRestaurant().getId()));
     }
 
-    public List<Restaurant> getRestaurantsByOwner(String ownerEmail) {
+    public List<RestaurantSummary> getRestaurantsByOwner(String ownerEmail) {
         User owner = userRepository.findByEmail(ownerEmail)
                 .orElseThrow(() -> new RuntimeException("Owner not found"));
-        return restaurantRepository.findByOwnerId(owner.getId());
+        return restaurantRepository.findSummariesByOwnerId(owner.getId());
     }
 }
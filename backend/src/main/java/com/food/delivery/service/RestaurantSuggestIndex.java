@@ -0,0 +1,118 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.Suggestion;
+import com.food.delivery.event.CatalogRefreshedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Autocomplete terms (restaurant names, cuisines, dish names) weighted by how
+// popular the restaurants offering them are. Each restaurant's contribution and
+// the merged total per term are kept, so a catalog change subtracts that
+// restaurant's old terms, adds its new ones, and merges just those totals into
+// the compact lookup structure; only a full reload sorts every term.
+// Both maps are O(catalog) on purpose: a delta needs the restaurant's previous
+// terms to subtract, and a term below the maxTerms cut can still climb into it,
+// so totals stay exact. They cost about one small Suggestion per dish, next to
+// the snapshot that already holds every dish.
+@Component
+public class RestaurantSuggestIndex {
+
+    @Value("${app.suggest.max-terms:200000}")
+    private int maxTerms;
+
+    private final Map<Long, List<Suggestion>> contributions = new HashMap<>();
+    // lower-cased text -> the term with its weight summed over all restaurants
+    private final Map<String, Suggestion> totals = new HashMap<>();
+
+    private volatile PrefixSuggester suggester = new PrefixSuggester(List.of());
+
+    @EventListener
+    public synchronized void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        CatalogSnapshot snapshot = event.getSnapshot();
+        if (event.isFullReload()) {
+            contributions.clear();
+            totals.clear();
+            for (CatalogRestaurant restaurant : snapshot.getActiveRestaurants()) {
+                List<Suggestion> terms = terms(restaurant, snapshot.getMenu(restaurant.id()));
+                contributions.put(restaurant.id(), terms);
+                terms.forEach(term -> add(term, 1));
+            }
+            suggester = build();
+            return;
+        }
+
+        Long restaurantId = event.getRestaurantId();
+        CatalogRestaurant restaurant = snapshot.getRestaurant(restaurantId);
+        List<Suggestion> next = restaurant != null && restaurant.active()
+                ? terms(restaurant, snapshot.getMenu(restaurantId)) : List.of();
+        List<Suggestion> previous = next.isEmpty() ? contributions.remove(restaurantId)
+                : contributions.put(restaurantId, next);
+
+        Set<String> touched = new HashSet<>();
+        if (previous != null) {
+            previous.forEach(term -> touched.add(add(term, -1)));
+        }
+        next.forEach(term -> touched.add(add(term, 1)));
+        Map<String, Suggestion> changes = new HashMap<>();
+        touched.forEach(key -> changes.put(key, totals.get(key)));
+        suggester = suggester.withChanges(changes, maxTerms);
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return suggester.suggest(prefix.trim(), limit);
+    }
+
+    // Same text from several restaurants (a cuisine, a common dish) adds up; every
+    // contribution weighs at least 1, so a total of zero means nobody offers it
+    private String add(Suggestion term, int sign) {
+        String key = term.getText().toLowerCase();
+        Suggestion total = totals.get(key);
+        long weight = (total != null ? total.getWeight() : 0) + sign * term.getWeight();
+        if (weight <= 0) {
+            totals.remove(key);
+        } else if (total == null) {
+            totals.put(key, new Suggestion(term.getText(), term.getType(), weight));
+        } else {
+            total.setWeight(weight);
+        }
+        return key;
+    }
+
+    // The term cap is applied exactly here; deltas only add terms while under it
+    private PrefixSuggester build() {
+        List<Suggestion> terms = new ArrayList<>(totals.values());
+        if (terms.size() > maxTerms) {
+            terms.sort(Comparator.comparingLong(Suggestion::getWeight).reversed());
+            terms = new ArrayList<>(terms.subList(0, maxTerms));
+        }
+        return new PrefixSuggester(terms);
+    }
+
+    private static List<Suggestion> terms(CatalogRestaurant restaurant, List<CatalogMenuItem> menu) {
+        // Rating stands in for popularity; a restaurant's own name outranks its dishes
+        long popularity = 1 + Math.round((restaurant.avgRating() != null ? restaurant.avgRating() : 0.0) * 10);
+        List<Suggestion> terms = new ArrayList<>();
+        addTerm(terms, restaurant.name(), "RESTAURANT", popularity * 10);
+        addTerm(terms, restaurant.cuisineType(), "CUISINE", popularity * 3);
+        menu.forEach(item -> addTerm(terms, item.name(), "DISH", popularity));
+        return terms;
+    }
+
+    private static void addTerm(List<Suggestion> terms, String text, String type, long weight) {
+        if (text != null && !text.isBlank()) {
+            terms.add(new Suggestion(text.trim(), type, weight));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.ReviewRequest;
+import com.food.delivery.dto.ReviewResponse;
+import com.food.delivery.event.RatingChangedEvent;
+import com.food.delivery.model.Order;
+import com.food.delivery.model.OrderStatus;
+import com.food.delivery.model.Review;
+import com.food.delivery.repository.OrderRepository;
+import com.food.delivery.repository.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Service
+public class ReviewService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewService.class);
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Transactional
+    public ReviewResponse addReview(String userEmail, Long orderId, ReviewRequest request) {
+        if (request.getRating() == null || request.getRating() < 1 || request.getRating() > 5) {
+            throw new RuntimeException("Rating must be between 1 and 5");
+        }
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        if (!order.getUser().getEmail().equals(userEmail)) {
+            throw new RuntimeException("Unauthorized");
+        }
+        if (order.getStatus() != OrderStatus.DELIVERED) {
+            throw new RuntimeException("Only delivered orders can be reviewed");
+        }
+        if (reviewRepository.existsByOrderId(orderId)) {
+            throw new RuntimeException("Order already reviewed");
+        }
+
+        Review review = new Review();
+        review.setOrder(order);
+        review.setUser(order.getUser());
+        review.setRestaurant(order.getRestaurant());
+        review.setRating(request.getRating());
+        review.setComment(request.getComment());
+        try {
+            review = reviewRepository.saveAndFlush(review);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Order already reviewed");
+        }
+
+        // O(1) regardless of how many reviews the restaurant already has; the catalog
+        // folds new ratings in on its own schedule rather than rebuilding per review
+        Long restaurantId = order.getRestaurant().getId();
+        reviewRepository.addRating(restaurantId, review.getRating());
+        eventPublisher.publishEvent(new RatingChangedEvent(restaurantId));
+        return mapToResponse(review);
+    }
+
+    public List<ReviewResponse> getRestaurantReviews(Long restaurantId) {
+        return reviewRepository.findTop50ByRestaurantIdOrderByCreatedAtDesc(restaurantId).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    // Safety net for totals that drifted, e.g. reviews removed by hand in the
+    // database; the only full aggregation over reviews, and it runs off the hot path
+    @Scheduled(fixedDelayString = "${app.reviews.reconcile-interval-ms:3600000}",
+            initialDelayString = "${app.reviews.reconcile-interval-ms:3600000}")
+    public void reconcileRatings() {
+        Integer fixed = new TransactionTemplate(transactionManager).execute(status -> reviewRepository.reconcileRatings());
+        if (fixed != null && fixed > 0) {
+            log.warn("Rating reconciliation corrected totals for {} restaurants", fixed);
+            catalogCache.reload();
+        }
+    }
+
+    private ReviewResponse mapToResponse(Review review) {
+        return new ReviewResponse(review.getId(), review.getOrder().getId(), review.getRestaurant().getId(),
+                review.getUser().getName(), review.getRating(), review.getComment(), review.getCreatedAt());
+    }
+}
@@ -0,0 +1,39 @@
+package com.food.delivery.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Events over the last minute in 60 per-second buckets. Each bucket packs its
+// epoch second (high 32 bits) and count (low 32 bits) into one long, so a
+// bucket is reset and incremented in the same CAS without any lock. Reading
+// sums the buckets whose second is still inside the window: 60 loads, however
+// busy the zone is.
+final class SlidingWindowCounter {
+
+    static final int WINDOW_SECONDS = 60;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(WINDOW_SECONDS);
+
+    void increment(long epochSecond) {
+        int index = (int) (epochSecond % WINDOW_SECONDS);
+        long stamp = epochSecond & 0xFFFFFFFFL;
+        while (true) {
+            long current = buckets.get(index);
+            long next = (current >>> 32) == stamp ? current + 1 : (stamp << 32) | 1;
+            if (buckets.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    long sum(long epochSecond) {
+        long total = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            long bucket = buckets.get(i);
+            long age = epochSecond - (bucket >>> 32);
+            if (age >= 0 && age < WINDOW_SECONDS) {
+                total += bucket & 0xFFFFFFFFL;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,88 @@
+package com.food.delivery.service;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Stock of one item spread over a few independently CAS'd stripes, so concurrent
+// checkouts of a hot item mostly touch different cache lines. Units only ever
+// move between a stripe and a caller with a successful CAS, so the total can
+// never go below zero: a reservation either takes every unit it needs or puts
+// back what it took and fails.
+final class StripedStockCounter {
+
+    // Each stripe sits on its own 64-byte line (16 ints apart)
+    private static final int PAD = 16;
+
+    private final int stripes;
+    private final AtomicIntegerArray cells;
+
+    StripedStockCounter(int stripes, int initial) {
+        this.stripes = stripes;
+        this.cells = new AtomicIntegerArray(stripes * PAD);
+        for (int i = 0; i < stripes; i++) {
+            cells.set(i * PAD, initial / stripes + (i < initial % stripes ? 1 : 0));
+        }
+    }
+
+    boolean tryTake(int quantity) {
+        int home = home();
+        int remaining = quantity;
+        int[] taken = new int[stripes];
+        for (int n = 0; n < stripes && remaining > 0; n++) {
+            int stripe = (home + n) % stripes;
+            while (remaining > 0) {
+                int current = cells.get(stripe * PAD);
+                if (current <= 0) {
+                    break;
+                }
+                int take = Math.min(current, remaining);
+                if (cells.compareAndSet(stripe * PAD, current, current - take)) {
+                    taken[stripe] += take;
+                    remaining -= take;
+                }
+            }
+        }
+        if (remaining > 0) {
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                if (taken[stripe] > 0) {
+                    cells.addAndGet(stripe * PAD, taken[stripe]);
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    void put(int quantity) {
+        cells.addAndGet(home() * PAD, quantity);
+    }
+
+    // Removes up to quantity units and returns how many were removed
+    int drain(int quantity) {
+        int removed = 0;
+        for (int stripe = 0; stripe < stripes && removed < quantity; stripe++) {
+            while (removed < quantity) {
+                int current = cells.get(stripe * PAD);
+                if (current <= 0) {
+                    break;
+                }
+                int take = Math.min(current, quantity - removed);
+                if (cells.compareAndSet(stripe * PAD, current, current - take)) {
+                    removed += take;
+                }
+            }
+        }
+        return removed;
+    }
+
+    int available() {
+        int total = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            total += cells.get(stripe * PAD);
+        }
+        return total;
+    }
+
+    private int home() {
+        return (int) (Thread.currentThread().getId() % stripes);
+    }
+}
@@ -76,6 +76,8 @@ public class UserService {
         address.setCity(updatedAddress.getCity());
         address.setState(updatedAddress.getState());
         address.setPincode(updatedAddress.getPincode());
+        address.setLatitude(updatedAddress.getLatitude());
+        address.setLongitude(updatedAddress.getLongitude());
 
         return addressRepository.save(address);
     }
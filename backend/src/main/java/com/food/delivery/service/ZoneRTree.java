@@ -0,0 +1,167 @@
+package com.food.delivery.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Immutable R-tree over delivery-zone polygons, bulk-loaded with Sort-Tile-Recursive
+// packing. A point query only descends into nodes whose bounding box contains the
+// point, then runs the exact point-in-polygon test on the few zones left.
+public final class ZoneRTree {
+
+    private static final int NODE_CAPACITY = 16;
+
+    private final Node root;
+    private final Set<Long> restaurantsWithZones;
+
+    public ZoneRTree(List<Zone> zones) {
+        Set<Long> owners = new HashSet<>();
+        List<Node> level = new ArrayList<>(zones.size());
+        for (Zone zone : zones) {
+            owners.add(zone.restaurantId);
+            level.add(new Node(zone));
+        }
+        while (level.size() > 1) {
+            level = pack(level);
+        }
+        this.root = level.isEmpty() ? null : level.get(0);
+        this.restaurantsWithZones = Set.copyOf(owners);
+    }
+
+    public boolean hasZones(Long restaurantId) {
+        return restaurantsWithZones.contains(restaurantId);
+    }
+
+    public Set<Long> restaurantsServing(double lat, double lng) {
+        Set<Long> result = new HashSet<>();
+        if (root != null) {
+            collect(root, lat, lng, result, null);
+        }
+        return result;
+    }
+
+    public boolean serves(Long restaurantId, double lat, double lng) {
+        Set<Long> result = new HashSet<>();
+        if (root != null) {
+            collect(root, lat, lng, result, restaurantId);
+        }
+        return !result.isEmpty();
+    }
+
+    private static void collect(Node node, double lat, double lng, Set<Long> result, Long onlyRestaurant) {
+        if (!node.contains(lat, lng)) {
+            return;
+        }
+        if (node.zone != null) {
+            if ((onlyRestaurant == null || onlyRestaurant.equals(node.zone.restaurantId))
+                    && !result.contains(node.zone.restaurantId) && node.zone.contains(lat, lng)) {
+                result.add(node.zone.restaurantId);
+            }
+            return;
+        }
+        for (Node child : node.children) {
+            collect(child, lat, lng, result, onlyRestaurant);
+        }
+    }
+
+    // One STR pass: sort by longitude into vertical slices, sort each slice by
+    // latitude, and group runs of NODE_CAPACITY into parent nodes
+    private static List<Node> pack(List<Node> nodes) {
+        int parentCount = (int) Math.ceil(nodes.size() / (double) NODE_CAPACITY);
+        int sliceCount = (int) Math.ceil(Math.sqrt(parentCount));
+        int sliceSize = sliceCount * NODE_CAPACITY;
+
+        List<Node> byLng = new ArrayList<>(nodes);
+        byLng.sort(Comparator.comparingDouble(n -> n.minLng + n.maxLng));
+        List<Node> parents = new ArrayList<>(parentCount);
+        for (int sliceStart = 0; sliceStart < byLng.size(); sliceStart += sliceSize) {
+            List<Node> slice = new ArrayList<>(byLng.subList(sliceStart, Math.min(sliceStart + sliceSize, byLng.size())));
+            slice.sort(Comparator.comparingDouble(n -> n.minLat + n.maxLat));
+            for (int i = 0; i < slice.size(); i += NODE_CAPACITY) {
+                parents.add(new Node(slice.subList(i, Math.min(i + NODE_CAPACITY, slice.size()))));
+            }
+        }
+        return parents;
+    }
+
+    private static final class Node {
+        private final double minLat;
+        private final double minLng;
+        private final double maxLat;
+        private final double maxLng;
+        private final Zone zone;
+        private final List<Node> children;
+
+        private Node(Zone zone) {
+            this.zone = zone;
+            this.children = List.of();
+            this.minLat = zone.minLat;
+            this.minLng = zone.minLng;
+            this.maxLat = zone.maxLat;
+            this.maxLng = zone.maxLng;
+        }
+
+        private Node(List<Node> children) {
+            this.zone = null;
+            this.children = List.copyOf(children);
+            double loLat = Double.MAX_VALUE, loLng = Double.MAX_VALUE;
+            double hiLat = -Double.MAX_VALUE, hiLng = -Double.MAX_VALUE;
+            for (Node child : children) {
+                loLat = Math.min(loLat, child.minLat);
+                loLng = Math.min(loLng, child.minLng);
+                hiLat = Math.max(hiLat, child.maxLat);
+                hiLng = Math.max(hiLng, child.maxLng);
+            }
+            this.minLat = loLat;
+            this.minLng = loLng;
+            this.maxLat = hiLat;
+            this.maxLng = hiLng;
+        }
+
+        private boolean contains(double lat, double lng) {
+            return lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng;
+        }
+    }
+
+    public static final class Zone {
+        private final Long restaurantId;
+        private final double[] lats;
+        private final double[] lngs;
+        private final double minLat;
+        private final double minLng;
+        private final double maxLat;
+        private final double maxLng;
+
+        public Zone(Long restaurantId, double[] lats, double[] lngs) {
+            this.restaurantId = restaurantId;
+            this.lats = lats.clone();
+            this.lngs = lngs.clone();
+            double loLat = Double.MAX_VALUE, loLng = Double.MAX_VALUE;
+            double hiLat = -Double.MAX_VALUE, hiLng = -Double.MAX_VALUE;
+            for (int i = 0; i < lats.length; i++) {
+                loLat = Math.min(loLat, lats[i]);
+                loLng = Math.min(loLng, lngs[i]);
+                hiLat = Math.max(hiLat, lats[i]);
+                hiLng = Math.max(hiLng, lngs[i]);
+            }
+            this.minLat = loLat;
+            this.minLng = loLng;
+            this.maxLat = hiLat;
+            this.maxLng = hiLng;
+        }
+
+        // Even-odd ray casting along the longitude axis
+        private boolean contains(double lat, double lng) {
+            boolean inside = false;
+            for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+                if ((lats[i] > lat) != (lats[j] > lat)
+                        && lng < (lngs[j] - lngs[i]) * (lat - lats[i]) / (lats[j] - lats[i]) + lngs[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.food.delivery.util;
+
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+    // Derived from the same radius as distanceKm, so degree-based bounds never
+    // disagree with the exact distance
+    public static final double KM_PER_DEGREE_LAT = Math.toRadians(EARTH_RADIUS_KM);
+
+    private GeoUtils() {
+    }
+
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    public static boolean isValid(Double lat, Double lng) {
+        return lat != null && lng != null && lat >= -90 && lat <= 90 && lng >= -180 && lng <= 180;
+    }
+}
@@ -0,0 +1,3 @@
+-- Demand-based delivery fee charged on each order (already included in total_amount)
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS delivery_fee DOUBLE PRECISION;
@@ -0,0 +1,4 @@
+-- Discount applied at checkout and the promotion it came from
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS discount_amount DOUBLE PRECISION;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS promotion_id BIGINT;
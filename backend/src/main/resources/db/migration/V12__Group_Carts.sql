@@ -0,0 +1,48 @@
+-- Group cart tables, including the unique line key that applyDelta's
+-- ON CONFLICT (group_cart_id, user_id, menu_item_id) depends on
+
+-- Step 1: Create the tables where Hibernate has not already
+CREATE TABLE IF NOT EXISTS group_carts (
+    id BIGSERIAL PRIMARY KEY,
+    owner_id BIGINT NOT NULL REFERENCES users (id),
+    share_code VARCHAR(255) NOT NULL UNIQUE,
+    created_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS group_cart_participants (
+    group_cart_id BIGINT NOT NULL REFERENCES group_carts (id),
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    PRIMARY KEY (group_cart_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS group_cart_items (
+    id BIGSERIAL PRIMARY KEY,
+    group_cart_id BIGINT NOT NULL REFERENCES group_carts (id),
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    menu_item_id BIGINT NOT NULL REFERENCES menu_items (id),
+    quantity INTEGER,
+    price DOUBLE PRECISION
+);
+
+-- Step 2: Fold duplicate lines into the oldest one, then drop the rest
+UPDATE group_cart_items g SET quantity = dup.total
+FROM (SELECT MIN(id) AS keep_id, SUM(quantity) AS total FROM group_cart_items
+      GROUP BY group_cart_id, user_id, menu_item_id HAVING COUNT(*) > 1) dup
+WHERE g.id = dup.keep_id;
+
+DELETE FROM group_cart_items g
+WHERE g.id <> (SELECT MIN(g2.id) FROM group_cart_items g2
+               WHERE g2.group_cart_id = g.group_cart_id AND g2.user_id = g.user_id
+                 AND g2.menu_item_id = g.menu_item_id);
+
+-- Step 3: Drop duplicate participants
+DELETE FROM group_cart_participants a USING group_cart_participants b
+WHERE a.ctid < b.ctid AND a.group_cart_id = b.group_cart_id AND a.user_id = b.user_id;
+
+-- Step 4: Add the unique keys (Hibernate only adds them on fresh schemas)
+ALTER TABLE group_cart_items DROP CONSTRAINT IF EXISTS uk_group_cart_items_line;
+ALTER TABLE group_cart_items ADD CONSTRAINT uk_group_cart_items_line
+    UNIQUE (group_cart_id, user_id, menu_item_id);
+
+ALTER TABLE group_cart_participants DROP CONSTRAINT IF EXISTS uk_group_cart_participants;
+ALTER TABLE group_cart_participants ADD CONSTRAINT uk_group_cart_participants UNIQUE (group_cart_id, user_id);
@@ -0,0 +1,7 @@
+-- Set once by a user's first checkout, so first-order promotions read one column
+-- instead of scanning orders
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS has_ordered BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE users u SET has_ordered = TRUE
+WHERE has_ordered = FALSE AND EXISTS (SELECT 1 FROM orders o WHERE o.user_id = u.id);
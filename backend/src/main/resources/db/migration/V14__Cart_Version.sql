@@ -0,0 +1,10 @@
+-- Optimistic lock on carts, so bulk repricing and a cart save that loaded the
+-- old prices cannot silently overwrite each other
+
+-- Step 1: Add the version column
+ALTER TABLE carts ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Step 2: Backfill and tighten a column Hibernate may have added as nullable first
+UPDATE carts SET version = 0 WHERE version IS NULL;
+ALTER TABLE carts ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE carts ALTER COLUMN version SET NOT NULL;
@@ -0,0 +1,14 @@
+-- Stock changes from checkouts, cancellations and stock edits, written in the
+-- same transaction as the order and folded into menu_items.stock_quantity in
+-- the background, so checkouts never lock the menu_items row
+
+-- Step 1: Create the ledger (no foreign key, so inserts take no lock on menu_items)
+CREATE TABLE IF NOT EXISTS stock_ledger (
+    id BIGSERIAL PRIMARY KEY,
+    menu_item_id BIGINT NOT NULL,
+    delta INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Step 2: Index for stock edits and counter seeding, which sum one item's rows
+CREATE INDEX IF NOT EXISTS idx_stock_ledger_menu_item ON stock_ledger(menu_item_id);
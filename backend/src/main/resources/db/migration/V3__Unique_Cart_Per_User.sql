@@ -0,0 +1,16 @@
+-- Enforce a single cart per user so get-or-create can rely on ON CONFLICT
+-- instead of a check-then-insert race
+
+-- Step 1: Drop items of duplicate carts, keeping the oldest cart of each user
+DELETE FROM cart_items WHERE cart_id IN (
+    SELECT id FROM carts c
+    WHERE c.id <> (SELECT MIN(c2.id) FROM carts c2 WHERE c2.user_id = c.user_id)
+);
+
+-- Step 2: Drop the duplicate carts themselves
+DELETE FROM carts c
+WHERE c.id <> (SELECT MIN(c2.id) FROM carts c2 WHERE c2.user_id = c.user_id);
+
+-- Step 3: Add the unique constraint (Hibernate only adds it on fresh schemas)
+ALTER TABLE carts DROP CONSTRAINT IF EXISTS uk_carts_user_id;
+ALTER TABLE carts ADD CONSTRAINT uk_carts_user_id UNIQUE (user_id);
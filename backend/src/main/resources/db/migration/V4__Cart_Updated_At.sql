@@ -0,0 +1,10 @@
+-- Track cart activity so abandoned carts can be expired by the sweeper
+
+-- Step 1: Add the last-modified column
+ALTER TABLE carts ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+
+-- Step 2: Give existing carts a full TTL from now instead of expiring them all at once
+UPDATE carts SET updated_at = CURRENT_TIMESTAMP WHERE updated_at IS NULL;
+
+-- Step 3: Index the sweep predicate
+CREATE INDEX IF NOT EXISTS idx_carts_updated_at ON carts (updated_at);
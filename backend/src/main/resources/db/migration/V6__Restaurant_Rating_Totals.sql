@@ -0,0 +1,6 @@
+-- Running rating totals so a new review updates avg_rating in O(1)
+
+-- Existing seed ratings stay in avg_rating until the first real review arrives
+ALTER TABLE restaurants ADD COLUMN IF NOT EXISTS rating_sum BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE restaurants ADD COLUMN IF NOT EXISTS rating_count BIGINT NOT NULL DEFAULT 0;
+
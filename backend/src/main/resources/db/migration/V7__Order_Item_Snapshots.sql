@@ -0,0 +1,28 @@
+-- Order lines keep their own copy of the item as ordered instead of joining menu_items
+
+-- Step 1: Add the snapshot columns
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS item_name VARCHAR(255);
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS veg BOOLEAN;
+
+-- Step 2: Backfill existing lines from the live menu items
+UPDATE order_items oi
+SET item_name = mi.name,
+    veg = mi.veg,
+    price = COALESCE(oi.price, mi.price)
+FROM menu_items mi
+WHERE oi.menu_item_id = mi.id AND oi.item_name IS NULL;
+
+-- Step 3: Drop the foreign key so menu items can be deleted without touching history
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conname FROM pg_constraint
+        WHERE conrelid = 'order_items'::regclass
+          AND confrelid = 'menu_items'::regclass
+          AND contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE order_items DROP CONSTRAINT %I', fk.conname);
+    END LOOP;
+END $$;
@@ -0,0 +1,3 @@
+-- Maximum concurrently active orders per kitchen; NULL keeps a restaurant unlimited
+
+ALTER TABLE restaurants ADD COLUMN IF NOT EXISTS max_active_orders INTEGER;
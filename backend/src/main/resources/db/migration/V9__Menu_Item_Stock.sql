@@ -0,0 +1,3 @@
+-- Optional stock for limited items (specials, combos); NULL means unlimited
+
+ALTER TABLE menu_items ADD COLUMN IF NOT EXISTS stock_quantity INTEGER;
@@ -0,0 +1,82 @@
+package com.food.delivery.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.delivery.dto.MenuItemSummary;
+import com.food.delivery.service.CatalogResponseCache;
+import com.food.delivery.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestaurantControllerTest {
+
+    private final RestaurantController controller = new RestaurantController();
+
+    @BeforeEach
+    void setUp() {
+        RestaurantService restaurantService = new RestaurantService() {
+            @Override
+            public String getMenuEtag(Long restaurantId) {
+                return "7-r" + restaurantId + "-3";
+            }
+
+            @Override
+            public List<MenuItemSummary> getMenuSummaries(Long restaurantId) {
+                return List.of();
+            }
+        };
+        CatalogResponseCache responseCache = new CatalogResponseCache();
+        ReflectionTestUtils.setField(responseCache, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(responseCache, "maxEntries", 10);
+        ReflectionTestUtils.setField(controller, "restaurantService", restaurantService);
+        ReflectionTestUtils.setField(controller, "responseCache", responseCache);
+    }
+
+    @Test
+    void gzipAndIdentityCarryDifferentEtags() {
+        ResponseEntity<?> identity = get(null, null).entity();
+        ResponseEntity<?> gzip = get("gzip, deflate", null).entity();
+
+        assertThat(identity.getHeaders().getETag()).isEqualTo("\"7-r1-3\"");
+        assertThat(gzip.getHeaders().getETag()).isEqualTo("\"7-r1-3-gzip\"");
+        assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    // A validator for one encoding must not revalidate the other
+    @Test
+    void revalidatesOnlyTheMatchingEncoding() {
+        Result gzipHit = get("gzip", "\"7-r1-3-gzip\"");
+        assertThat(gzipHit.entity()).isNull();
+        assertThat(gzipHit.response().getStatus()).isEqualTo(304);
+        assertThat(gzipHit.response().getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+
+        assertThat(get(null, "\"7-r1-3-gzip\"").entity()).isNotNull();
+        assertThat(get("gzip", "\"7-r1-3\"").entity()).isNotNull();
+        assertThat(get(null, "\"7-r1-3\"").entity()).isNull();
+    }
+
+    private Result get(String acceptEncoding, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/restaurants/1/menu");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<?> entity = controller.getMenu(1L, new ServletWebRequest(request, response));
+        return new Result(entity, response);
+    }
+
+    private record Result(ResponseEntity<?> entity, MockHttpServletResponse response) {}
+}
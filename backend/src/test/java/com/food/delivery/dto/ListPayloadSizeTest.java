@@ -0,0 +1,107 @@
+package com.food.delivery.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.delivery.model.MenuItem;
+import com.food.delivery.model.Restaurant;
+import com.food.delivery.model.Role;
+import com.food.delivery.model.User;
+import com.food.delivery.service.CatalogMenuItem;
+import com.food.delivery.service.CatalogRestaurant;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Checks the card projections stay well below the entities on the list endpoints, using rows shaped
+// like the seeded catalog: a long description, an image URL and an owner per restaurant
+class ListPayloadSizeTest {
+
+    private static final int RESTAURANTS = 50;
+    private static final int MENU_ITEMS = 100;
+    private static final String DESCRIPTION = "Slow-cooked curries, hand-rolled breads and seasonal specials. ".repeat(8);
+    private static final String IMAGE_URL = "https://images.example.com/catalog/restaurant-hero-1920x1080.jpg";
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void restaurantCardsAreSmallerThanEntities() throws Exception {
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (long i = 1; i <= RESTAURANTS; i++) {
+            restaurants.add(restaurant(i));
+        }
+        int entityBytes = mapper.writeValueAsBytes(restaurants).length;
+        int cardBytes = mapper.writeValueAsBytes(restaurants.stream().map(CatalogRestaurant::from).map(RestaurantSummary::from).toList()).length;
+
+        assertThat(cardBytes).isLessThan(entityBytes / 3);
+    }
+
+    @Test
+    void menuCardsAreSmallerThanEntities() throws Exception {
+        Restaurant restaurant = restaurant(1L);
+        List<MenuItem> items = new ArrayList<>();
+        for (long i = 1; i <= MENU_ITEMS; i++) {
+            MenuItem item = new MenuItem();
+            item.setId(i);
+            item.setRestaurant(restaurant);
+            item.setName("Dish " + i);
+            item.setDescription(DESCRIPTION);
+            item.setPrice(199.0 + i);
+            item.setVeg(i % 2 == 0);
+            item.setImageUrl(IMAGE_URL);
+            items.add(item);
+        }
+        int entityBytes = mapper.writeValueAsBytes(items).length;
+        int cardBytes = mapper.writeValueAsBytes(items.stream().map(CatalogMenuItem::from).map(MenuItemSummary::from).toList()).length;
+
+        assertThat(cardBytes).isLessThan(entityBytes * 2 / 3);
+    }
+
+    @Test
+    void publicRestaurantPayloadsCarryNoOwnerAccount() throws Exception {
+        Restaurant restaurant = restaurant(1L);
+
+        assertThat(mapper.writeValueAsString(restaurant.getOwner())).doesNotContain("password");
+        assertThat(mapper.writeValueAsString(RestaurantDetail.from(CatalogRestaurant.from(restaurant))))
+                .doesNotContain("owner", "password", restaurant.getOwner().getEmail());
+    }
+
+    @Test
+    void ratingsAreReadOnlyInRequestBodies() throws Exception {
+        Restaurant created = mapper.readValue("{\"name\":\"New Place\",\"avgRating\":5.0,\"ratingSum\":500,"
+                + "\"ratingCount\":100}", Restaurant.class);
+
+        assertThat(created.getAvgRating()).isEqualTo(0.0);
+        assertThat(created.getRatingSum()).isZero();
+        assertThat(created.getRatingCount()).isZero();
+        assertThat(mapper.writeValueAsString(restaurant(1L))).contains("\"avgRating\":4.3");
+    }
+
+    private static Restaurant restaurant(long id) {
+        User owner = new User();
+        owner.setId(1000 + id);
+        owner.setName("Owner " + id);
+        owner.setEmail("owner" + id + "@example.com");
+        owner.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3bLJc2XB0HIyu.3M/dY/4C6");
+        owner.setPhone("+91 98765 43210");
+        owner.setRole(Role.RESTAURANT_OWNER);
+        owner.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName("Restaurant " + id);
+        restaurant.setDescription(DESCRIPTION);
+        restaurant.setAddress(id + " MG Road, Bengaluru, Karnataka 560001");
+        restaurant.setCuisineType("North Indian");
+        restaurant.setImageUrl(IMAGE_URL);
+        restaurant.setAvgRating(4.3);
+        restaurant.setDeliveryTime(30);
+        restaurant.setLatitude(12.97);
+        restaurant.setLongitude(77.59);
+        restaurant.setDeliveryRadiusKm(5.0);
+        restaurant.setOwner(owner);
+        return restaurant;
+    }
+}
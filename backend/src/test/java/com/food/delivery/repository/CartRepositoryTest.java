@@ -0,0 +1,113 @@
+package com.food.delivery.repository;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CartRepositoryTest {
+
+    private static final int THREADS = 16;
+
+    private PostgresTestDatabase database;
+
+    @AfterEach
+    void tearDown() {
+        if (database != null) {
+            database.drop();
+        }
+    }
+
+    // Repricing must move the version of exactly the carts it rewrites, so a save
+    // of one of them loaded before the price change matches no row
+    @Test
+    void repricingInvalidatesStaleCartSaves() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:carts;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE carts (id BIGINT PRIMARY KEY, total_amount DOUBLE PRECISION, "
+                + "version BIGINT NOT NULL DEFAULT 0)");
+        jdbcTemplate.execute("CREATE TABLE cart_items (id BIGINT PRIMARY KEY, cart_id BIGINT, menu_item_id BIGINT, "
+                + "quantity INTEGER, price DOUBLE PRECISION)");
+        jdbcTemplate.update("INSERT INTO carts (id, total_amount) VALUES (1, 250), (2, 80)");
+        jdbcTemplate.update("INSERT INTO cart_items VALUES (1, 1, 10, 2, 100), (2, 1, 11, 1, 50), (3, 2, 11, 1, 80)");
+
+        jdbcTemplate.update(sql("repriceTotals"), 10L, 120.0, 10L, 120.0);
+        jdbcTemplate.update(sql("repriceItems"), 120.0, 10L, 120.0);
+
+        assertThat(jdbcTemplate.queryForList("SELECT total_amount FROM carts ORDER BY id", Double.class))
+                .containsExactly(290.0, 80.0);
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM carts ORDER BY id", Long.class))
+                .containsExactly(1L, 0L);
+        // The statement Hibernate issues for a versioned save of each cart as loaded before
+        String save = "UPDATE carts SET total_amount = ?, version = version + 1 WHERE id = ? AND version = 0";
+        assertThat(jdbcTemplate.update(save, 300.0, 1L)).isZero();
+        assertThat(jdbcTemplate.update(save, 160.0, 2L)).isEqualTo(1);
+    }
+
+    // A user's first requests arriving together must all land on one cart, the
+    // way CartService.getOrCreateCart reads, inserts if absent, and reads again
+    @Test
+    @EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_VARIABLE, matches = ".+")
+    void concurrentFirstRequestsShareOneCart() throws Exception {
+        database = new PostgresTestDatabase();
+        database.jdbcTemplate.execute("CREATE TABLE carts (id BIGSERIAL PRIMARY KEY, user_id BIGINT, "
+                + "total_amount DOUBLE PRECISION)");
+        database.jdbcTemplate.execute("CREATE TABLE cart_items (id BIGSERIAL PRIMARY KEY, cart_id BIGINT)");
+        database.migrate("V3__Unique_Cart_Per_User.sql");
+        database.migrate("V4__Cart_Updated_At.sql");
+        database.migrate("V14__Cart_Version.sql");
+        String insert = CartRepository.class.getMethod("insertIfAbsent", Long.class).getAnnotation(Query.class)
+                .value().replace(":userId", "?");
+        Set<Long> cartIds = ConcurrentHashMap.newKeySet();
+        List<Throwable> failures = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    List<Long> found = findByUserId(7L);
+                    if (found.isEmpty()) {
+                        database.jdbcTemplate.update(insert, 7L);
+                        found = findByUserId(7L);
+                    }
+                    cartIds.add(found.get(0));
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(failures).isEmpty();
+        assertThat(cartIds).hasSize(1);
+        assertThat(findByUserId(7L)).containsExactlyElementsOf(cartIds);
+    }
+
+    private static String sql(String method) throws NoSuchMethodException {
+        return CartRepository.class.getMethod(method, Long.class, Double.class).getAnnotation(Query.class).value()
+                .replaceAll(":[a-zA-Z]+", "?");
+    }
+
+    private List<Long> findByUserId(Long userId) {
+        return database.jdbcTemplate.queryForList("SELECT id FROM carts WHERE user_id = ?", Long.class, userId);
+    }
+}
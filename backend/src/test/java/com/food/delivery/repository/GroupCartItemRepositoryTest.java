@@ -0,0 +1,88 @@
+package com.food.delivery.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_VARIABLE, matches = ".+")
+class GroupCartItemRepositoryTest {
+
+    private static final int THREADS = 16;
+    private static final int EDITS = 200;
+
+    private PostgresTestDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        database = new PostgresTestDatabase();
+        database.jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+        database.jdbcTemplate.execute("CREATE TABLE menu_items (id BIGINT PRIMARY KEY)");
+        database.migrate("V12__Group_Carts.sql");
+        database.jdbcTemplate.update("INSERT INTO users VALUES (1), (2)");
+        database.jdbcTemplate.update("INSERT INTO menu_items VALUES (10)");
+        database.jdbcTemplate.update("INSERT INTO group_carts (owner_id, share_code) VALUES (1, 'SHARE')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.drop();
+    }
+
+    // Many participants hammer the same lines with mixed deltas; the upsert relies
+    // on V12's unique key and must add every delta exactly once
+    @Test
+    void concurrentDeltasAllLand() throws Exception {
+        String sql = sql("applyDelta", Long.class, Long.class, Long.class, int.class, Double.class);
+        Long groupCartId = database.jdbcTemplate.queryForObject("SELECT id FROM group_carts", Long.class);
+        AtomicInteger[] expected = { new AtomicInteger(), new AtomicInteger() };
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long userId = 1 + t % 2;
+            Random random = new Random(t);
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < EDITS; i++) {
+                        int delta = random.nextInt(4) == 0 ? -1 : 1 + random.nextInt(2);
+                        database.jdbcTemplate.update(sql, groupCartId, userId, 10L, delta, 99.0);
+                        expected[(int) userId - 1].addAndGet(delta);
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(failures).isEmpty();
+        for (long userId = 1; userId <= 2; userId++) {
+            List<Integer> lines = database.jdbcTemplate.queryForList(
+                    "SELECT quantity FROM group_cart_items WHERE user_id = ?", Integer.class, userId);
+            assertThat(lines).containsExactly(expected[(int) userId - 1].get());
+        }
+    }
+
+    private static String sql(String method, Class<?>... parameters) throws NoSuchMethodException {
+        String sql = GroupCartItemRepository.class.getMethod(method, parameters).getAnnotation(Query.class).value();
+        return sql.replaceAll(":[a-zA-Z]+", "?");
+    }
+}
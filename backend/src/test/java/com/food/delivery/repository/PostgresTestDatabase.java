@@ -0,0 +1,48 @@
+package com.food.delivery.repository;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+// A throwaway schema on the Postgres named by TEST_DATABASE_URL, for tests of the
+// native upserts that H2 cannot run. Tests using it are skipped when it is unset.
+final class PostgresTestDatabase {
+
+    static final String URL_VARIABLE = "TEST_DATABASE_URL";
+
+    final String schema = "test_" + Long.toString(System.nanoTime(), 36);
+    final JdbcTemplate jdbcTemplate;
+
+    PostgresTestDatabase() {
+        DriverManagerDataSource admin = dataSource();
+        new JdbcTemplate(admin).execute("CREATE SCHEMA " + schema);
+        DriverManagerDataSource scoped = dataSource();
+        scoped.setSchema(schema);
+        jdbcTemplate = new JdbcTemplate(scoped);
+    }
+
+    void migrate(String migration) {
+        try {
+            jdbcTemplate.execute(StreamUtils.copyToString(
+                    new ClassPathResource("db/migration/" + migration).getInputStream(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void drop() {
+        new JdbcTemplate(dataSource()).execute("DROP SCHEMA " + schema + " CASCADE");
+    }
+
+    private static DriverManagerDataSource dataSource() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(System.getenv(URL_VARIABLE),
+                System.getenv("TEST_DATABASE_USERNAME"), System.getenv("TEST_DATABASE_PASSWORD"));
+        dataSource.setDriverClassName("org.postgresql.Driver");
+        return dataSource;
+    }
+}
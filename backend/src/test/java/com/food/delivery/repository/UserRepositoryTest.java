@@ -0,0 +1,62 @@
+package com.food.delivery.repository;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserRepositoryTest {
+
+    // Runs the markOrdered statement itself from concurrent checkouts of one user:
+    // exactly one may see it match, and a rolled-back claim is handed back
+    @Test
+    void onlyOneCheckoutClaimsTheFirstOrder() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:users;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, has_ordered BOOLEAN NOT NULL DEFAULT FALSE)");
+        jdbcTemplate.update("INSERT INTO users (id) VALUES (1)");
+        String sql = UserRepository.class.getMethod("markOrdered", Long.class).getAnnotation(Query.class).value()
+                .replace(":userId", "?");
+
+        assertThatThrownBy(() -> tx.execute(status -> {
+            jdbcTemplate.update(sql, 1L);
+            throw new IllegalStateException("checkout failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        AtomicInteger claimed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                Integer updated = tx.execute(status -> jdbcTemplate.update(sql, 1L));
+                if (updated != null && updated == 1) {
+                    claimed.incrementAndGet();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(claimed.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,50 @@
+package com.food.delivery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.delivery.dto.RestaurantPage;
+import com.food.delivery.dto.RestaurantSummary;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Run with mvn test -Pbenchmark
+@Tag("benchmark")
+class CatalogResponseCacheBenchmark {
+
+    private static final int ROUNDS = 5000;
+
+    // Serving a first page from the cache against serializing and gzipping it per request
+    @Test
+    void cachedAgainstSerializingPerRequest() {
+        CatalogResponseCache cache = new CatalogResponseCache();
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        List<RestaurantSummary> items = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            items.add(new RestaurantSummary(id, "Restaurant " + id, "North Indian", 4.2, 30,
+                    "/images/" + id + ".jpg"));
+        }
+        RestaurantPage page = new RestaurantPage(items, "cursor");
+        for (int i = 0; i < ROUNDS; i++) { // warm-up
+            ReflectionTestUtils.invokeMethod(cache, "build", "1-1", page);
+            cache.get("restaurants:RATING:20", "1-1", () -> page);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            ReflectionTestUtils.invokeMethod(cache, "build", "1-1", page);
+        }
+        long uncached = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            cache.get("restaurants:RATING:20", "1-1", () -> page);
+        }
+        long cached = System.nanoTime() - start;
+
+        System.out.printf("first page of 20: serialize+gzip %.1f us, cached %.2f us per request%n",
+                uncached / 1e3 / ROUNDS, cached / 1e3 / ROUNDS);
+    }
+}
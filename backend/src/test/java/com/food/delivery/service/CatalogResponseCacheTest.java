@@ -0,0 +1,43 @@
+package com.food.delivery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogResponseCacheTest {
+
+    private final CatalogResponseCache cache = new CatalogResponseCache();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+    }
+
+    @Test
+    void staysWithinItsBoundAndKeepsRecentEntries() {
+        for (int i = 0; i < 1000; i++) {
+            cache.get("restaurant:" + i, "1-r" + i + "-1", () -> List.of());
+            cache.get("restaurant:0", "1-r0-1", () -> List.of()); // keep one entry hot
+        }
+        assertThat(cache.size()).isEqualTo(100);
+
+        CatalogResponseCache.CachedResponse hot = cache.get("restaurant:0", "1-r0-1", () -> {
+            throw new AssertionError("hot entry was evicted");
+        });
+        assertThat(hot.getEtag()).isEqualTo("1-r0-1");
+    }
+
+    @Test
+    void rebuildsWhenTheEtagMoves() {
+        CatalogResponseCache.CachedResponse first = cache.get("menu:1", "1-r1-1", () -> List.of("a"));
+        CatalogResponseCache.CachedResponse second = cache.get("menu:1", "1-r1-2", () -> List.of("b"));
+        assertThat(new String(second.getJson())).isEqualTo("[\"b\"]");
+        assertThat(cache.get("menu:1", "1-r1-2", () -> List.of("c"))).isSameAs(second).isNotSameAs(first);
+    }
+}
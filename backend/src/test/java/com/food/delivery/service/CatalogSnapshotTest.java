@@ -0,0 +1,118 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.RestaurantSort;
+import com.food.delivery.dto.RestaurantSummary;
+import com.food.delivery.model.MenuItem;
+import com.food.delivery.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSnapshotTest {
+
+    // Every delta must leave the snapshot exactly as a full rebuild of the same rows would
+    @Test
+    void deltasMatchFullRebuild() {
+        Random random = new Random(42);
+        Map<Long, Restaurant> rows = new HashMap<>();
+        for (long id = 1; id <= 200; id++) {
+            rows.put(id, restaurant(id, random));
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, rows.values(), Map.of());
+
+        for (int i = 0; i < 2000; i++) {
+            long id = 1 + random.nextInt(250);
+            if (random.nextInt(10) == 0) {
+                rows.remove(id);
+                snapshot = snapshot.withRestaurant(id, null, List.of());
+            } else {
+                Restaurant restaurant = restaurant(id, random);
+                rows.put(id, restaurant);
+                snapshot = snapshot.withRestaurant(id, restaurant, List.of());
+            }
+        }
+
+        CatalogSnapshot rebuilt = CatalogSnapshot.of(snapshot.getVersion(), rows.values(), Map.of());
+        for (RestaurantSort sort : RestaurantSort.values()) {
+            assertThat(ids(snapshot.getActiveSummaries(sort))).isEqualTo(ids(rebuilt.getActiveSummaries(sort)));
+        }
+        assertThat(snapshot.getAllRestaurants()).containsExactlyInAnyOrderElementsOf(rebuilt.getAllRestaurants());
+    }
+
+    @Test
+    void deltaBumpsOnlyTheChangedRestaurantVersion() {
+        Random random = new Random(7);
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, List.of(restaurant(1L, random), restaurant(2L, random)),
+                Map.of());
+
+        Restaurant changed = restaurant(2L, random);
+        MenuItem item = new MenuItem();
+        item.setId(10L);
+        item.setName("Dosa");
+        item.setRestaurant(changed);
+        CatalogSnapshot next = snapshot.withRestaurant(2L, changed, List.of(item));
+
+        assertThat(next.getVersion()).isEqualTo(2);
+        assertThat(next.getRestaurantVersion(1L)).isEqualTo(1);
+        assertThat(next.getRestaurantVersion(2L)).isEqualTo(2);
+        assertThat(next.getMenu(2L)).extracting(CatalogMenuItem::name).containsExactly("Dosa");
+        assertThat(snapshot.getMenu(2L)).isEmpty();
+    }
+
+    // A batch of rating updates is one version and leaves the snapshot as a rebuild would
+    @Test
+    void batchedRatingsBumpTheVersionOnce() {
+        Random random = new Random(21);
+        Map<Long, Restaurant> rows = new HashMap<>();
+        for (long id = 1; id <= 100; id++) {
+            rows.put(id, restaurant(id, random));
+        }
+        MenuItem item = new MenuItem();
+        item.setId(500L);
+        item.setName("Idli");
+        item.setRestaurant(rows.get(5L));
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, rows.values(), Map.of(5L, List.of(item)));
+
+        List<Restaurant> rated = new ArrayList<>();
+        for (long id = 1; id <= 100; id += 4) {
+            Restaurant restaurant = rows.get(id);
+            restaurant.setAvgRating(random.nextInt(11) / 2.0);
+            rated.add(restaurant);
+        }
+        Restaurant unknown = restaurant(999L, random);
+        rated.add(unknown);
+        CatalogSnapshot next = snapshot.withRestaurants(rated);
+
+        assertThat(next.getVersion()).isEqualTo(2);
+        assertThat(next.getRestaurantVersion(5L)).isEqualTo(2);
+        assertThat(next.getRestaurantVersion(2L)).isEqualTo(1);
+        assertThat(next.getRestaurant(999L)).isNull();
+        assertThat(next.getMenu(5L)).extracting(CatalogMenuItem::name).containsExactly("Idli");
+        CatalogSnapshot rebuilt = CatalogSnapshot.of(2, rows.values(), Map.of());
+        for (RestaurantSort sort : RestaurantSort.values()) {
+            assertThat(ids(next.getActiveSummaries(sort))).isEqualTo(ids(rebuilt.getActiveSummaries(sort)));
+        }
+    }
+
+    private static Restaurant restaurant(long id, Random random) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName("Restaurant " + id);
+        restaurant.setAvgRating(random.nextInt(11) / 2.0);
+        restaurant.setDeliveryTime(random.nextBoolean() ? 15 + random.nextInt(4) * 15 : null);
+        restaurant.setActive(random.nextInt(5) != 0);
+        return restaurant;
+    }
+
+    private static List<Long> ids(List<RestaurantSummary> summaries) {
+        List<Long> ids = new ArrayList<>();
+        summaries.forEach(summary -> ids.add(summary.getId()));
+        return ids;
+    }
+}
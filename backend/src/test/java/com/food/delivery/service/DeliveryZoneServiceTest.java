@@ -0,0 +1,65 @@
+package com.food.delivery.service;
+
+import com.food.delivery.event.CatalogRefreshedEvent;
+import com.food.delivery.model.Restaurant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeliveryZoneServiceTest {
+
+    private final DeliveryZoneService service = new DeliveryZoneService();
+    private final RestaurantGeoIndex geoIndex = new RestaurantGeoIndex();
+
+    private final CatalogRestaurant zoned = CatalogRestaurant.from(restaurant(1L, 12.90, 77.60));
+    private final CatalogRestaurant radiusOnly = CatalogRestaurant.from(restaurant(2L, 12.90, 77.60));
+    private final CatalogRestaurant unlocated = CatalogRestaurant.from(restaurant(3L, null, null));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(geoIndex, "defaultRadiusKm", 5.0);
+        ReflectionTestUtils.setField(geoIndex, "maxRadiusKm", 25.0);
+        geoIndex.onCatalogRefreshed(new CatalogRefreshedEvent(CatalogSnapshot.of(1,
+                List.of(restaurant(1L, 12.90, 77.60), restaurant(2L, 12.90, 77.60), restaurant(3L, null, null)),
+                Map.of()), null));
+        ReflectionTestUtils.setField(service, "geoIndex", geoIndex);
+        // A small square north-east of the restaurant, well outside its 5 km radius
+        ZoneRTree.Zone zone = new ZoneRTree.Zone(1L, new double[] { 13.00, 13.00, 13.10, 13.10 },
+                new double[] { 77.70, 77.80, 77.80, 77.70 });
+        ReflectionTestUtils.setField(service, "tree", new ZoneRTree(List.of(zone)));
+    }
+
+    @Test
+    void zonesReplaceTheRadius() {
+        assertThat(service.isServiceable(zoned, 13.05, 77.75)).isTrue();
+        assertThat(service.isServiceable(zoned, 12.91, 77.60)).isFalse();
+        assertThat(service.isServiceable(zoned, null, null)).isFalse();
+    }
+
+    @Test
+    void zoneLessRestaurantsServeTheirRadius() {
+        assertThat(service.isServiceable(radiusOnly, 12.91, 77.60)).isTrue();
+        assertThat(service.isServiceable(radiusOnly, 13.05, 77.75)).isFalse();
+    }
+
+    @Test
+    void unknownLocationsAreNotRestricted() {
+        assertThat(service.isServiceable(radiusOnly, null, null)).isTrue();
+        assertThat(service.isServiceable(unlocated, 13.05, 77.75)).isTrue();
+        assertThat(geoIndex.findUnlocated()).containsExactly(unlocated);
+    }
+
+    private static Restaurant restaurant(Long id, Double lat, Double lng) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName("Restaurant " + id);
+        restaurant.setLatitude(lat);
+        restaurant.setLongitude(lng);
+        return restaurant;
+    }
+}
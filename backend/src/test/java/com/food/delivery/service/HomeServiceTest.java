@@ -0,0 +1,91 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.HomeResponse;
+import com.food.delivery.dto.RestaurantSort;
+import com.food.delivery.model.Cart;
+import com.food.delivery.model.User;
+import com.food.delivery.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HomeServiceTest {
+
+    private final HomeService service = new HomeService();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CartService cartService = mock(CartService.class);
+    private final OrderService orderService = mock(OrderService.class);
+    private final User user = new User();
+
+    @BeforeEach
+    void setUp() {
+        user.setId(1L);
+        user.setEmail("a@example.com");
+        when(userRepository.findByEmail("a@example.com")).thenReturn(Optional.of(user));
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "restaurantService", mock(RestaurantService.class));
+        ReflectionTestUtils.setField(service, "cartService", cartService);
+        ReflectionTestUtils.setField(service, "orderService", orderService);
+        ReflectionTestUtils.setField(service, "partTimeoutMs", 200L);
+        ReflectionTestUtils.setField(service, "poolSize", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 2);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    // A part stuck past its deadline must give its thread back: the running one is
+    // interrupted, the one queued behind it never runs, and the next page is served
+    @Test
+    void timedOutPartsAreCancelled() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        when(cartService.getCart(any(User.class))).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            // Like a blocking read, take a moment to notice, so the queued part's
+            // deadline passes while it is still waiting for this thread
+            long until = System.nanoTime() + 300_000_000L;
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+            released.countDown();
+            return new Cart();
+        }).thenReturn(new Cart());
+
+        HomeResponse slow = service.getHome("a@example.com", RestaurantSort.RATING, 10);
+
+        assertThat(slow.getMissing()).contains("cart", "activeOrders");
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(released.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(orderService, never()).getActiveOrders(any(User.class));
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "executor");
+        while (executor.getActiveCount() > 0) {
+            Thread.sleep(5);
+        }
+
+        when(orderService.getActiveOrders(any(User.class))).thenReturn(List.of());
+        HomeResponse next = service.getHome("a@example.com", RestaurantSort.RATING, 10);
+        assertThat(next.getMissing()).doesNotContain("cart", "activeOrders");
+    }
+}
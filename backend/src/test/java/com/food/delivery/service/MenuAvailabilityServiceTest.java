@@ -0,0 +1,96 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.AvailabilityDelta;
+import com.food.delivery.event.CatalogRefreshedEvent;
+import com.food.delivery.event.MenuAvailabilityChangedEvent;
+import com.food.delivery.model.MenuItem;
+import com.food.delivery.model.Restaurant;
+import com.food.delivery.model.User;
+import com.food.delivery.repository.MenuItemRepository;
+import com.food.delivery.repository.RestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MenuAvailabilityServiceTest {
+
+    private final MenuAvailabilityService service = new MenuAvailabilityService();
+    private final List<Object> published = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setEmail("owner@example.com");
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(1L);
+        restaurant.setName("Dosa Corner");
+        restaurant.setOwner(owner);
+        List<MenuItem> menu = new ArrayList<>();
+        for (long id = 10; id < 13; id++) {
+            MenuItem item = new MenuItem();
+            item.setId(id);
+            item.setRestaurant(restaurant);
+            item.setAvailable(true);
+            menu.add(item);
+        }
+
+        RestaurantRepository restaurantRepository = mock(RestaurantRepository.class);
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+        // Stands in for the transaction: after-commit listeners run on the toggling thread
+        ApplicationEventPublisher publisher = event -> {
+            published.add(event);
+            if (event instanceof MenuAvailabilityChangedEvent changed) {
+                service.onAvailabilityChanged(changed);
+            }
+        };
+        ReflectionTestUtils.setField(service, "restaurantRepository", restaurantRepository);
+        ReflectionTestUtils.setField(service, "menuItemRepository", mock(MenuItemRepository.class));
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "eventPublisher", publisher);
+        service.onCatalogRefreshed(new CatalogRefreshedEvent(CatalogSnapshot.of(1, List.of(restaurant),
+                Map.of(1L, menu)), null));
+    }
+
+    @Test
+    void toggleReturnsTheVersionItWasAppliedAt() {
+        AvailabilityDelta first = service.setAvailability("owner@example.com", 1L, List.of(11L), false);
+        AvailabilityDelta second = service.setAvailability("owner@example.com", 1L, List.of(11L, 12L), false);
+
+        assertThat(first.getVersion()).isEqualTo(1);
+        assertThat(first.getUnavailable()).containsExactly(11L);
+        assertThat(second.getVersion()).isEqualTo(2);
+        assertThat(second.getUnavailable()).containsExactly(12L);
+        assertThat(service.getVersion(1L)).isEqualTo(2);
+        assertThat(service.getVersion()).isEqualTo(2);
+        assertThat(service.isAvailable(1L, 12L, true)).isFalse();
+    }
+
+    // Toggles stay out of the catalog: no rebuild and no catalog-wide ETag churn
+    @Test
+    void toggleDoesNotChangeTheCatalog() {
+        service.setAvailability("owner@example.com", 1L, List.of(10L), false);
+
+        assertThat(published).hasSize(1).allMatch(event -> event instanceof MenuAvailabilityChangedEvent);
+    }
+
+    @Test
+    void noOpToggleKeepsTheCurrentVersion() {
+        service.setAvailability("owner@example.com", 1L, List.of(10L), false);
+        AvailabilityDelta again = service.setAvailability("owner@example.com", 1L, List.of(10L), false);
+
+        assertThat(again.getVersion()).isEqualTo(1);
+        assertThat(again.getAvailable()).isEmpty();
+        assertThat(again.getUnavailable()).isEmpty();
+    }
+}
@@ -0,0 +1,165 @@
+package com.food.delivery.service;
+
+import com.food.delivery.event.CatalogRefreshedEvent;
+import com.food.delivery.model.CartItem;
+import com.food.delivery.model.MenuItem;
+import com.food.delivery.model.Restaurant;
+import com.food.delivery.model.User;
+import com.food.delivery.repository.MenuItemRepository;
+import com.food.delivery.repository.RestaurantRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MenuStockServiceTest {
+
+    private static final int STOCK = 200;
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private MenuItem item;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:stock" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute("CREATE TABLE menu_items (id BIGINT PRIMARY KEY, stock_quantity INT)");
+        jdbcTemplate.execute("CREATE TABLE stock_ledger (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "menu_item_id BIGINT NOT NULL, delta INT NOT NULL, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO menu_items VALUES (1, ?)", STOCK);
+
+        User owner = new User();
+        owner.setEmail("owner@example.com");
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(1L);
+        restaurant.setOwner(owner);
+        item = new MenuItem();
+        item.setId(1L);
+        item.setName("Biryani");
+        item.setRestaurant(restaurant);
+        item.setStockQuantity(STOCK);
+    }
+
+    // Checkouts race on one hot item: the counter admits exactly the stock, and
+    // once the ledger is folded the column agrees
+    @Test
+    void concurrentCheckoutsSellExactlyTheStock() throws Exception {
+        MenuStockService service = instance();
+        AtomicInteger sold = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 40; i++) {
+                    try {
+                        new TransactionTemplate(transactionManager)
+                                .executeWithoutResult(status -> service.reserve(List.of(line(2))));
+                        sold.addAndGet(2);
+                    } catch (RuntimeException e) {
+                        // sold out
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        service.foldLedger();
+
+        assertThat(sold.get()).isEqualTo(STOCK);
+        assertThat(column()).isZero();
+        assertThat(pendingRows()).isZero();
+    }
+
+    @Test
+    void rolledBackCheckoutLeavesNoTrace() {
+        MenuStockService service = instance();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                service.reserve(List.of(line(5)));
+                throw new RuntimeException("payment failed");
+            });
+        } catch (RuntimeException e) {
+            // expected
+        }
+        assertThat(pendingRows()).isZero();
+        assertThat(column()).isEqualTo(STOCK);
+    }
+
+    // A restart before the fold must not hand the sold units out again
+    @Test
+    void countersSeedFromTheColumnPlusPendingRows() {
+        MenuStockService service = instance();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> service.reserve(List.of(line(5))));
+
+        assertThat(column()).isEqualTo(STOCK);
+        assertThat(instance().getAvailable(1L)).isEqualTo(STOCK - 5);
+        service.foldLedger();
+        assertThat(column()).isEqualTo(STOCK - 5);
+        assertThat(instance().getAvailable(1L)).isEqualTo(STOCK - 5);
+    }
+
+    @Test
+    void stockEditsCountUnfoldedSales() {
+        MenuStockService service = instance();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> service.reserve(List.of(line(5))));
+
+        assertThat(service.setStock("owner@example.com", 1L, 1L, 50).getAvailable()).isEqualTo(50);
+        service.foldLedger();
+        assertThat(column()).isEqualTo(50);
+        assertThat(instance().getAvailable(1L)).isEqualTo(50);
+    }
+
+    private MenuStockService instance() {
+        MenuStockService service = new MenuStockService();
+        RestaurantRepository restaurantRepository = mock(RestaurantRepository.class);
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(item.getRestaurant()));
+        MenuItemRepository menuItemRepository = mock(MenuItemRepository.class);
+        when(menuItemRepository.findById(1L)).thenReturn(Optional.of(item));
+        ReflectionTestUtils.setField(service, "restaurantRepository", restaurantRepository);
+        ReflectionTestUtils.setField(service, "menuItemRepository", menuItemRepository);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "transactionManager", transactionManager);
+        ApplicationEventPublisher ignored = event -> {
+        };
+        ReflectionTestUtils.setField(service, "eventPublisher", ignored);
+        ReflectionTestUtils.setField(service, "stripes", 4);
+        ReflectionTestUtils.setField(service, "foldBatchSize", 100);
+        service.onCatalogRefreshed(new CatalogRefreshedEvent(
+                CatalogSnapshot.of(1, List.of(item.getRestaurant()), Map.of(1L, List.of(item))), null));
+        return service;
+    }
+
+    private Integer column() {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM menu_items WHERE id = 1", Integer.class);
+    }
+
+    private Integer pendingRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_ledger", Integer.class);
+    }
+
+    private CartItem line(int quantity) {
+        CartItem line = new CartItem();
+        line.setMenuItem(item);
+        line.setQuantity(quantity);
+        return line;
+    }
+}
@@ -0,0 +1,73 @@
+package com.food.delivery.service;
+
+import com.food.delivery.model.DiscountType;
+import com.food.delivery.model.PaymentMethod;
+import com.food.delivery.model.Promotion;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with mvn test -Pbenchmark
+@Tag("benchmark")
+class PromotionIndexBenchmark {
+
+    private static final String[] CUISINES = { "italian", "chinese", "south indian", "north indian", "mexican" };
+    private static final int PROMOTIONS = 5000;
+    private static final int RESTAURANTS = 500;
+    private static final long BUDGET_NANOS = 50_000;
+
+    // 5000 active promotions, fixed seeds, so every run evaluates the same orders
+    @Test
+    void evaluationAgainstFiveThousandPromotions() {
+        Random random = new Random(50);
+        List<Promotion> promotions = new ArrayList<>();
+        for (long id = 1; id <= PROMOTIONS; id++) {
+            Long restaurantId = random.nextInt(10) == 0 ? null : 1L + random.nextInt(RESTAURANTS);
+            Promotion promotion = promotion(id, restaurantId, 20.0 + random.nextInt(100));
+            promotion.setMinCartValue(random.nextBoolean() ? 100.0 + random.nextInt(400) : null);
+            promotion.setCuisineType(random.nextInt(3) == 0 ? CUISINES[random.nextInt(CUISINES.length)] : null);
+            promotion.setPaymentMethod(random.nextInt(4) == 0 ? PaymentMethod.UPI : null);
+            promotion.setFirstOrderOnly(random.nextInt(5) == 0);
+            promotion.setValidUntil(LocalDateTime.now().plusDays(random.nextInt(30) + 1));
+            promotions.add(promotion);
+        }
+        PromotionIndex index = new PromotionIndex(promotions);
+        List<PromotionContext> orders = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            orders.add(new PromotionContext(1L + random.nextInt(RESTAURANTS), CUISINES[random.nextInt(CUISINES.length)],
+                    50 + random.nextInt(600), PaymentMethod.values()[random.nextInt(3)], System.currentTimeMillis(),
+                    random.nextBoolean()));
+        }
+        for (PromotionContext order : orders) { // warm-up
+            index.bestAutomatic(order);
+        }
+
+        long[] samples = new long[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            long start = System.nanoTime();
+            index.bestAutomatic(orders.get(i));
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        System.out.printf("%d promotions: p50 %.1f us, p99 %.1f us per order%n", PROMOTIONS,
+                samples[samples.length / 2] / 1e3, samples[samples.length * 99 / 100] / 1e3);
+        assertThat(samples[samples.length / 2]).isLessThan(BUDGET_NANOS);
+    }
+
+    private static Promotion promotion(Long id, Long restaurantId, double flat) {
+        Promotion promotion = new Promotion();
+        promotion.setId(id);
+        promotion.setName("Promotion " + id);
+        promotion.setRestaurantId(restaurantId);
+        promotion.setDiscountType(DiscountType.FLAT);
+        promotion.setDiscountValue(flat);
+        return promotion;
+    }
+}
@@ -0,0 +1,38 @@
+package com.food.delivery.service;
+
+import com.food.delivery.model.DiscountType;
+import com.food.delivery.model.PaymentMethod;
+import com.food.delivery.model.Promotion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromotionIndexTest {
+
+    @Test
+    void firstOrderRulesFollowTheCallersAnswer() {
+        Promotion welcome = promotion(1L, null, 50.0);
+        welcome.setFirstOrderOnly(true);
+        PromotionIndex index = new PromotionIndex(List.of(welcome));
+
+        assertThat(index.bestAutomatic(context(7L, 500, true))).isNotNull();
+        assertThat(index.bestAutomatic(context(7L, 500, false))).isNull();
+    }
+
+    private static Promotion promotion(Long id, Long restaurantId, double flat) {
+        Promotion promotion = new Promotion();
+        promotion.setId(id);
+        promotion.setName("Promotion " + id);
+        promotion.setRestaurantId(restaurantId);
+        promotion.setDiscountType(DiscountType.FLAT);
+        promotion.setDiscountValue(flat);
+        return promotion;
+    }
+
+    private static PromotionContext context(Long restaurantId, double subtotal, boolean firstOrder) {
+        return new PromotionContext(restaurantId, "italian", subtotal, PaymentMethod.COD, System.currentTimeMillis(),
+                firstOrder);
+    }
+}
@@ -0,0 +1,90 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.RestaurantFilterResponse;
+import com.food.delivery.dto.RestaurantSummary;
+import com.food.delivery.event.CatalogRefreshedEvent;
+import com.food.delivery.model.MenuItem;
+import com.food.delivery.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestaurantFacetIndexTest {
+
+    private static final String[] CUISINES = { "Italian", "Chinese", "South Indian", "Mexican" };
+
+    @Test
+    void deltasAnswerLikeAFullRebuild() {
+        Random random = new Random(11);
+        Map<Long, Restaurant> rows = new HashMap<>();
+        Map<Long, List<MenuItem>> menus = new HashMap<>();
+        for (long id = 1; id <= 100; id++) {
+            rows.put(id, restaurant(id, random));
+            menus.put(id, menu(rows.get(id), random));
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, rows.values(), menus);
+        RestaurantFacetIndex incremental = new RestaurantFacetIndex();
+        incremental.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot, null));
+
+        for (int i = 0; i < 500; i++) {
+            long id = 1 + random.nextInt(130);
+            if (random.nextInt(8) == 0) {
+                rows.remove(id);
+                menus.remove(id);
+                snapshot = snapshot.withRestaurant(id, null, List.of());
+            } else {
+                rows.put(id, restaurant(id, random));
+                menus.put(id, menu(rows.get(id), random));
+                snapshot = snapshot.withRestaurant(id, rows.get(id), menus.get(id));
+            }
+            incremental.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot, id));
+        }
+
+        RestaurantFacetIndex rebuilt = new RestaurantFacetIndex();
+        rebuilt.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot, null));
+
+        assertSameAnswer(incremental, rebuilt, null, null, null, null);
+        assertSameAnswer(incremental, rebuilt, List.of("italian", "Mexican"), null, 3.7, null);
+        assertSameAnswer(incremental, rebuilt, null, true, null, 30);
+        assertSameAnswer(incremental, rebuilt, List.of("South Indian"), false, 4.0, 45);
+    }
+
+    private static void assertSameAnswer(RestaurantFacetIndex incremental, RestaurantFacetIndex rebuilt,
+            List<String> cuisines, Boolean vegOnly, Double minRating, Integer maxDeliveryTime) {
+        RestaurantFilterResponse a = incremental.filter(cuisines, vegOnly, minRating, maxDeliveryTime, 1000);
+        RestaurantFilterResponse b = rebuilt.filter(cuisines, vegOnly, minRating, maxDeliveryTime, 1000);
+        assertThat(a.getTotal()).isEqualTo(b.getTotal());
+        assertThat(a.getRestaurants()).extracting(RestaurantSummary::getId)
+                .containsExactlyInAnyOrderElementsOf(b.getRestaurants().stream().map(RestaurantSummary::getId).toList());
+        assertThat(a.getFacets()).isEqualTo(b.getFacets());
+    }
+
+    private static Restaurant restaurant(long id, Random random) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName("Restaurant " + id);
+        restaurant.setCuisineType(CUISINES[random.nextInt(CUISINES.length)]);
+        restaurant.setAvgRating(random.nextInt(51) / 10.0);
+        restaurant.setDeliveryTime(10 + random.nextInt(60));
+        restaurant.setActive(random.nextInt(6) != 0);
+        return restaurant;
+    }
+
+    private static List<MenuItem> menu(Restaurant restaurant, Random random) {
+        boolean allVeg = random.nextBoolean();
+        MenuItem a = new MenuItem();
+        a.setId(restaurant.getId() * 10);
+        a.setRestaurant(restaurant);
+        a.setVeg(true);
+        MenuItem b = new MenuItem();
+        b.setId(restaurant.getId() * 10 + 1);
+        b.setRestaurant(restaurant);
+        b.setVeg(allVeg);
+        return List.of(a, b);
+    }
+}
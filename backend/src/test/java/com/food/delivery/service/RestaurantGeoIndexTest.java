@@ -0,0 +1,93 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.NearbyRestaurant;
+import com.food.delivery.event.CatalogRefreshedEvent;
+import com.food.delivery.model.Restaurant;
+import com.food.delivery.util.GeoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestaurantGeoIndexTest {
+
+    private final RestaurantGeoIndex index = new RestaurantGeoIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "defaultRadiusKm", 5.0);
+        ReflectionTestUtils.setField(index, "maxRadiusKm", 25.0);
+    }
+
+    @Test
+    void findsRestaurantsAcrossTheAntimeridian() {
+        load(List.of(restaurant(1L, -16.5, 179.98, 10.0), restaurant(2L, -16.5, -179.98, 10.0)));
+
+        assertThat(ids(index.findServing(-16.5, -179.99, 10))).containsExactly(2L, 1L);
+        assertThat(ids(index.findServing(-16.5, 179.99, 10))).containsExactly(1L, 2L);
+        assertThat(ids(index.findServing(-16.5, 180.0, 10))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void includesPointsRightAtTheDeliveryRadius() {
+        load(List.of(restaurant(1L, 12.9, 77.6, 5.0)));
+        double edge = 12.9 + 4.999 / GeoUtils.KM_PER_DEGREE_LAT;
+
+        assertThat(ids(index.findServing(edge, 77.6, 10))).containsExactly(1L);
+        assertThat(index.findServing(12.9 + 5.01 / GeoUtils.KM_PER_DEGREE_LAT, 77.6, 10)).isEmpty();
+    }
+
+    // The grid must answer exactly like checking every restaurant, including near
+    // the poles and the antimeridian where cells are narrowest or wrap
+    @Test
+    void matchesALinearScan() {
+        Random random = new Random(3);
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (long id = 1; id <= 400; id++) {
+            double lat = random.nextInt(4) == 0 ? 85 - random.nextDouble() * 4 : random.nextDouble() * 10 - 5;
+            double lng = random.nextBoolean() ? 179.5 + random.nextDouble() : 77 + random.nextDouble();
+            restaurants.add(restaurant(id, lat, lng > 180 ? lng - 360 : lng, 1 + random.nextDouble() * 24));
+        }
+        load(restaurants);
+
+        for (int i = 0; i < 2000; i++) {
+            Restaurant target = restaurants.get(random.nextInt(restaurants.size()));
+            double lat = Math.max(-90, Math.min(90, target.getLatitude() + (random.nextDouble() - 0.5) * 0.6));
+            double lng = target.getLongitude() + (random.nextDouble() - 0.5) * 1.2;
+            lng = lng > 180 ? lng - 360 : lng < -180 ? lng + 360 : lng;
+
+            List<Long> expected = new ArrayList<>();
+            for (Restaurant restaurant : restaurants) {
+                double distance = GeoUtils.distanceKm(lat, lng, restaurant.getLatitude(), restaurant.getLongitude());
+                if (distance <= restaurant.getDeliveryRadiusKm()) {
+                    expected.add(restaurant.getId());
+                }
+            }
+            assertThat(ids(index.findServing(lat, lng, 1000))).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private void load(List<Restaurant> restaurants) {
+        index.onCatalogRefreshed(new CatalogRefreshedEvent(CatalogSnapshot.of(1, restaurants, Map.of()), null));
+    }
+
+    private static Restaurant restaurant(Long id, double lat, double lng, double radiusKm) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName("Restaurant " + id);
+        restaurant.setLatitude(lat);
+        restaurant.setLongitude(lng);
+        restaurant.setDeliveryRadiusKm(radiusKm);
+        return restaurant;
+    }
+
+    private static List<Long> ids(List<NearbyRestaurant> nearby) {
+        return nearby.stream().map(n -> n.getRestaurant().getId()).toList();
+    }
+}
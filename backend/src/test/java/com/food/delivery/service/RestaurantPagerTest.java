@@ -0,0 +1,56 @@
+package com.food.delivery.service;
+
+import com.food.delivery.dto.RestaurantPage;
+import com.food.delivery.dto.RestaurantSummary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestaurantPagerTest {
+
+    // Walking relevance pages must visit every match exactly once in full sorted
+    // order, with no cap, even when many hits tie on score
+    @Test
+    void relevancePagesWalkEveryMatchInOrder() {
+        Random random = new Random(13);
+        List<RestaurantSearchIndex.Hit> hits = new ArrayList<>();
+        for (long id = 1; id <= 1200; id++) {
+            hits.add(new RestaurantSearchIndex.Hit(id, random.nextInt(5)));
+        }
+        Collections.shuffle(hits, random);
+
+        List<Long> served = new ArrayList<>();
+        String cursor = null;
+        do {
+            RestaurantPage page = RestaurantPager.pageByRelevance(hits, RestaurantPagerTest::card, cursor, 50);
+            page.getItems().forEach(item -> served.add(item.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<Long> expected = hits.stream().sorted(RestaurantSearchIndex.RELEVANCE)
+                .map(RestaurantSearchIndex.Hit::restaurantId).toList();
+        assertThat(served).isEqualTo(expected);
+    }
+
+    @Test
+    void relevancePagesSkipRestaurantsWithoutACard() {
+        List<RestaurantSearchIndex.Hit> hits = List.of(new RestaurantSearchIndex.Hit(1, 9),
+                new RestaurantSearchIndex.Hit(2, 8), new RestaurantSearchIndex.Hit(3, 7));
+
+        RestaurantPage page = RestaurantPager.pageByRelevance(hits, id -> id == 2 ? null : card(id), null, 2);
+
+        assertThat(page.getItems()).extracting(RestaurantSummary::getId).containsExactly(1L, 3L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    private static RestaurantSummary card(Long id) {
+        RestaurantSummary summary = new RestaurantSummary();
+        summary.setId(id);
+        return summary;
+    }
+}
@@ -0,0 +1,130 @@
+package com.food.delivery.service;
+
+import com.food.delivery.event.CatalogRefreshedEvent;
+import com.food.delivery.model.MenuItem;
+import com.food.delivery.model.Restaurant;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with mvn test -Pbenchmark
+@Tag("benchmark")
+class RestaurantSearchIndexBenchmark {
+
+    private static final int RESTAURANTS = 100_000;
+    private static final int DISHES = 20;
+    // Search latency budget per query, held at the tail
+    private static final long BUDGET_NANOS = 5_000_000;
+
+    // Each restaurant cooks from its own cuisine, so dish words are as selective
+    // as on a real catalog instead of every restaurant serving every dish
+    private static final String[] CUISINES = { "Italian", "North Indian", "South Indian", "Chinese", "Mexican",
+            "Japanese", "Lebanese", "Desserts" };
+    private static final String[][] DISH_WORDS = {
+            { "pizza", "margherita", "pasta", "lasagna", "risotto", "gnocchi", "pesto", "carbonara", "tiramisu",
+                    "bruschetta", "calzone", "focaccia", "arrabbiata", "ravioli", "panna", "cotta" },
+            { "paneer", "tikka", "masala", "butter", "chicken", "naan", "dal", "makhani", "biryani", "kebab",
+                    "tandoori", "korma", "kulcha", "rogan", "josh", "lassi" },
+            { "dosa", "idli", "vada", "sambar", "uttapam", "rasam", "appam", "pongal", "chettinad", "avial",
+                    "upma", "payasam", "podi", "thali", "bisibele", "kootu" },
+            { "noodles", "manchurian", "dimsum", "momo", "hakka", "szechuan", "chowmein", "wonton", "kungpao",
+                    "springroll", "fried", "rice", "bao", "mapo", "tofu", "dumpling" },
+            { "tacos", "burrito", "quesadilla", "nachos", "enchilada", "guacamole", "salsa", "churros",
+                    "fajita", "tamale", "chipotle", "pozole", "elote", "mole", "carnitas", "tostada" },
+            { "sushi", "ramen", "tempura", "udon", "teriyaki", "miso", "gyoza", "sashimi", "katsu", "donburi",
+                    "yakitori", "onigiri", "matcha", "soba", "tonkotsu", "edamame" },
+            { "falafel", "shawarma", "hummus", "tabbouleh", "fattoush", "manakish", "kibbeh", "labneh",
+                    "baba", "ganoush", "tahini", "kofta", "baklava", "mutabbal", "sfiha", "zaatar" },
+            { "brownie", "waffle", "kulfi", "gelato", "cheesecake", "cupcake", "mousse", "pancake", "donut",
+                    "sundae", "macaron", "eclair", "fudge", "truffle", "cookie", "parfait" } };
+    private static final String[] STYLES = { "Kitchen", "House", "Cafe", "Express", "Bistro", "Corner", "Diner",
+            "Grill" };
+    private static final String[] ADJECTIVES = { "Freshly made", "Slow cooked", "Crispy", "Spicy", "Classic",
+            "Homestyle", "Smoky", "Creamy" };
+
+    @Test
+    void searchAndDeltasOnAFullSizeCatalog() {
+        Random random = new Random(1);
+        Map<Long, Restaurant> rows = new HashMap<>();
+        Map<Long, List<MenuItem>> menus = new HashMap<>();
+        for (long id = 1; id <= RESTAURANTS; id++) {
+            put(rows, menus, id, random);
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, rows.values(), menus);
+        RestaurantSearchIndex index = new RestaurantSearchIndex();
+        long buildStart = System.nanoTime();
+        index.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot, null));
+        long buildNanos = System.nanoTime() - buildStart;
+
+        List<String> queries = List.of("pizza", "piza", "paneer tikka", "south indian", "biriyani", "masala dosa",
+                "ramen", "choco brownie", "kebab", "thali", "sushi", "falafel wrap", "tacos", "italian");
+        for (int i = 0; i < 500; i++) {
+            index.search(queries.get(i % queries.size()), 500); // warm-up
+        }
+        long[] samples = new long[2000];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            index.search(queries.get(i % queries.size()), 500);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+
+        // A word on nearly every menu is the worst case: every restaurant is a hit
+        long broadStart = System.nanoTime();
+        int broadHits = index.hits("freshly made").size();
+        long broadNanos = System.nanoTime() - broadStart;
+
+        // Index work only, not the snapshot deltas feeding it
+        int updates = 2000;
+        long deltaNanos = 0;
+        for (int i = 0; i < updates; i++) {
+            long id = 1 + random.nextInt(RESTAURANTS);
+            put(rows, menus, id, random);
+            snapshot = snapshot.withRestaurant(id, rows.get(id), menus.get(id));
+            long start = System.nanoTime();
+            index.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot, id));
+            deltaNanos += System.nanoTime() - start;
+        }
+        deltaNanos /= updates;
+
+        long p99 = samples[samples.length * 99 / 100];
+        System.out.printf("search over %d restaurants x %d dishes: build %d ms, p50 %.2f ms, p99 %.2f ms, "
+                + "broad query (%d hits) %.1f ms, delta %.3f ms%n", RESTAURANTS, DISHES, buildNanos / 1_000_000,
+                samples[samples.length / 2] / 1e6, p99 / 1e6, broadHits, broadNanos / 1e6, deltaNanos / 1e6);
+        assertThat(p99).isLessThan(BUDGET_NANOS);
+    }
+
+    private static void put(Map<Long, Restaurant> rows, Map<Long, List<MenuItem>> menus, long id, Random random) {
+        int cuisine = random.nextInt(CUISINES.length);
+        String[] words = DISH_WORDS[cuisine];
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName(capitalize(words[random.nextInt(words.length)]) + " "
+                + STYLES[random.nextInt(STYLES.length)] + " " + id);
+        restaurant.setCuisineType(CUISINES[cuisine]);
+        rows.put(id, restaurant);
+        List<MenuItem> menu = new ArrayList<>();
+        for (int d = 0; d < DISHES; d++) {
+            MenuItem item = new MenuItem();
+            item.setId(id * 100 + d);
+            item.setRestaurant(restaurant);
+            item.setName(capitalize(words[random.nextInt(words.length)]) + " " + words[random.nextInt(words.length)]);
+            item.setDescription(ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + words[random.nextInt(words.length)] + " with house spices");
+            menu.add(item);
+        }
+        menus.put(id, menu);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
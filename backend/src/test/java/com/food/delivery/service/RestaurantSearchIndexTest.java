@@ -0,0 +1,128 @@
+package com.food.delivery.service;
+
+import com.food.delivery.event.CatalogRefreshedEvent;
+import com.food.delivery.model.MenuItem;
+import com.food.delivery.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestaurantSearchIndexTest {
+
+    private static final String[] WORDS = { "pizza", "paneer", "biryani", "dosa", "burger", "noodles", "tikka",
+            "masala", "margherita", "falafel", "shawarma", "sushi", "ramen", "tacos", "curry", "idli", "vada",
+            "kebab", "pasta", "salad", "waffle", "brownie", "lassi", "kulfi", "momo", "thali", "chaat" };
+    private static final String[] CUISINES = { "Italian", "North Indian", "South Indian", "Chinese", "Mexican",
+            "Japanese", "Lebanese", "Desserts" };
+
+    @Test
+    void deltasAnswerLikeAFullRebuild() {
+        Random random = new Random(5);
+        Map<Long, Restaurant> rows = new HashMap<>();
+        Map<Long, List<MenuItem>> menus = new HashMap<>();
+        for (long id = 1; id <= 200; id++) {
+            put(rows, menus, id, random, 3);
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, rows.values(), menus);
+        RestaurantSearchIndex incremental = new RestaurantSearchIndex();
+        incremental.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot, null));
+
+        for (int i = 0; i < 1000; i++) {
+            long id = 1 + random.nextInt(240);
+            if (random.nextInt(6) == 0) {
+                rows.remove(id);
+                menus.remove(id);
+                snapshot = snapshot.withRestaurant(id, null, List.of());
+            } else {
+                put(rows, menus, id, random, 3);
+                snapshot = snapshot.withRestaurant(id, rows.get(id), menus.get(id));
+            }
+            incremental.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot, id));
+        }
+
+        RestaurantSearchIndex rebuilt = new RestaurantSearchIndex();
+        rebuilt.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot, null));
+        for (String query : List.of("pizza", "piza", "south indian", "paneer tikka", "momo thali", "sushi")) {
+            assertThat(incremental.search(query, 1000)).isEqualTo(rebuilt.search(query, 1000));
+        }
+    }
+
+    // Readers racing a stream of deltas and full reloads must never lose a
+    // restaurant: all 100 pizzerias stay findable throughout
+    @Test
+    void readersNeverSeePartialUpdates() throws Exception {
+        Random random = new Random(9);
+        Map<Long, Restaurant> rows = new HashMap<>();
+        Map<Long, List<MenuItem>> menus = new HashMap<>();
+        for (long id = 1; id <= 300; id++) {
+            put(rows, menus, id, random, 3);
+        }
+        RestaurantSearchIndex index = new RestaurantSearchIndex();
+        CatalogSnapshot initial = CatalogSnapshot.of(1, rows.values(), menus);
+        index.onCatalogRefreshed(new CatalogRefreshedEvent(initial, null));
+
+        List<String> failures = new ArrayList<>();
+        Thread reader = new Thread(() -> {
+            for (int i = 0; i < 20_000 && failures.isEmpty(); i++) {
+                if (index.search("pizza", 1000).size() < 100) {
+                    failures.add("lost restaurants mid-update");
+                }
+            }
+        });
+        reader.start();
+        CatalogSnapshot snapshot = initial;
+        for (int i = 0; i < 300 && reader.isAlive(); i++) {
+            index.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot, null));
+            long id = 1 + random.nextInt(300);
+            snapshot = snapshot.withRestaurant(id, rows.get(id), menus.get(id));
+            index.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot, id));
+        }
+        reader.join();
+        assertThat(failures).isEmpty();
+    }
+
+    @Test
+    void ratingOnlyDeltasAreSkipped() {
+        Random random = new Random(13);
+        Map<Long, Restaurant> rows = new HashMap<>();
+        Map<Long, List<MenuItem>> menus = new HashMap<>();
+        put(rows, menus, 1L, random, 2);
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, rows.values(), menus);
+        RestaurantSearchIndex index = new RestaurantSearchIndex();
+        index.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot, null));
+
+        Restaurant renamed = rows.get(1L);
+        renamed.setName("Zanzibar Grill");
+        index.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot.withRestaurant(1L, renamed, menus.get(1L)), 1L,
+                true));
+
+        assertThat(index.search("zanzibar", 10)).isEmpty();
+        assertThat(index.search("house", 10)).containsExactly(1L);
+    }
+
+    private static void put(Map<Long, Restaurant> rows, Map<Long, List<MenuItem>> menus, long id, Random random,
+            int dishes) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        // Every third restaurant is a pizzeria, so "pizza" always has a known floor of hits
+        restaurant.setName((id % 3 == 0 ? "Pizza " : WORDS[random.nextInt(WORDS.length)] + " ") + "House " + id);
+        restaurant.setCuisineType(CUISINES[random.nextInt(CUISINES.length)]);
+        rows.put(id, restaurant);
+        List<MenuItem> menu = new ArrayList<>();
+        for (int d = 0; d < dishes; d++) {
+            MenuItem item = new MenuItem();
+            item.setId(id * 100 + d);
+            item.setRestaurant(restaurant);
+            item.setName(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]);
+            item.setDescription("Freshly made " + WORDS[random.nextInt(WORDS.length)] + " with house spices");
+            menu.add(item);
+        }
+        menus.put(id, menu);
+    }
+}
@@ -0,0 +1,74 @@
+package com.food.delivery.service;
+
+import com.food.delivery.event.CatalogRefreshedEvent;
+import com.food.delivery.model.MenuItem;
+import com.food.delivery.model.Restaurant;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Run with mvn test -Pbenchmark
+@Tag("benchmark")
+class RestaurantSuggestIndexBenchmark {
+
+    private static final int RESTAURANTS = 20_000;
+    private static final int UPDATES = 200;
+    private static final String[] WORDS = { "Paneer", "Butter", "Chicken", "Masala", "Dosa", "Pizza", "Pasta",
+            "Biryani", "Burger", "Brownie", "Tikka", "Tandoori", "Noodles", "Momo", "Kulfi", "Lassi" };
+    private static final String[] CUISINES = { "Italian", "North Indian", "South Indian", "Chinese", "Desserts" };
+
+    @Test
+    void deltaAgainstFullRebuild() {
+        Random random = new Random(2);
+        Map<Long, Restaurant> rows = new HashMap<>();
+        Map<Long, List<MenuItem>> menus = new HashMap<>();
+        for (long id = 1; id <= RESTAURANTS; id++) {
+            put(rows, menus, id, random);
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, rows.values(), menus);
+        RestaurantSuggestIndex index = new RestaurantSuggestIndex();
+        ReflectionTestUtils.setField(index, "maxTerms", 200_000);
+        long start = System.nanoTime();
+        index.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot, null));
+        long rebuildNanos = System.nanoTime() - start;
+
+        long deltaNanos = 0;
+        for (int i = 0; i < UPDATES; i++) {
+            long id = 1 + random.nextInt(RESTAURANTS);
+            put(rows, menus, id, random);
+            snapshot = snapshot.withRestaurant(id, rows.get(id), menus.get(id));
+            CatalogRefreshedEvent event = new CatalogRefreshedEvent(snapshot, id);
+            start = System.nanoTime();
+            index.onCatalogRefreshed(event);
+            deltaNanos += System.nanoTime() - start;
+        }
+
+        System.out.printf("suggest over %d restaurants: full build %.1f ms, per-restaurant delta %.2f ms%n",
+                RESTAURANTS, rebuildNanos / 1e6, deltaNanos / 1e6 / UPDATES);
+    }
+
+    private static void put(Map<Long, Restaurant> rows, Map<Long, List<MenuItem>> menus, long id, Random random) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName("Restaurant " + id);
+        restaurant.setCuisineType(CUISINES[random.nextInt(CUISINES.length)]);
+        restaurant.setAvgRating(random.nextInt(51) / 10.0);
+        restaurant.setActive(random.nextInt(8) != 0);
+        rows.put(id, restaurant);
+        List<MenuItem> menu = new ArrayList<>();
+        for (int d = 0; d < 10; d++) {
+            MenuItem item = new MenuItem();
+            item.setId(id * 100 + d);
+            item.setRestaurant(restaurant);
+            item.setName(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]);
+            menu.add(item);
+        }
+        menus.put(id, menu);
+    }
+}
@@ -0,0 +1,79 @@
+package com.food.delivery.service;
+
+import com.food.delivery.event.CatalogRefreshedEvent;
+import com.food.delivery.model.MenuItem;
+import com.food.delivery.model.Restaurant;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestaurantSuggestIndexTest {
+
+    private static final String[] WORDS = { "Paneer", "Butter", "Chicken", "Masala", "Dosa", "Pizza", "Pasta",
+            "Biryani", "Burger", "Brownie", "Tikka", "Tandoori", "Noodles", "Momo", "Kulfi", "Lassi" };
+    private static final String[] CUISINES = { "Italian", "North Indian", "South Indian", "Chinese", "Desserts" };
+
+    @Test
+    void deltasAnswerLikeAFullRebuild() {
+        Random random = new Random(21);
+        Map<Long, Restaurant> rows = new HashMap<>();
+        Map<Long, List<MenuItem>> menus = new HashMap<>();
+        for (long id = 1; id <= 150; id++) {
+            put(rows, menus, id, random, 8);
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, rows.values(), menus);
+        RestaurantSuggestIndex incremental = index(snapshot);
+
+        for (int i = 0; i < 600; i++) {
+            long id = 1 + random.nextInt(180);
+            if (random.nextInt(6) == 0) {
+                rows.remove(id);
+                menus.remove(id);
+                snapshot = snapshot.withRestaurant(id, null, List.of());
+            } else {
+                put(rows, menus, id, random, 8);
+                snapshot = snapshot.withRestaurant(id, rows.get(id), menus.get(id));
+            }
+            incremental.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot, id));
+        }
+
+        RestaurantSuggestIndex rebuilt = index(snapshot);
+        for (String prefix : List.of("p", "pa", "paneer", "b", "bu", "s", "south", "k", "restaurant 1", "x")) {
+            assertThat(incremental.suggest(prefix, 20)).isEqualTo(rebuilt.suggest(prefix, 20));
+        }
+    }
+
+    private static RestaurantSuggestIndex index(CatalogSnapshot snapshot) {
+        RestaurantSuggestIndex index = new RestaurantSuggestIndex();
+        ReflectionTestUtils.setField(index, "maxTerms", 200_000);
+        index.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot, null));
+        return index;
+    }
+
+    private static void put(Map<Long, Restaurant> rows, Map<Long, List<MenuItem>> menus, long id, Random random,
+            int dishes) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName("Restaurant " + id);
+        restaurant.setCuisineType(CUISINES[random.nextInt(CUISINES.length)]);
+        restaurant.setAvgRating(random.nextInt(51) / 10.0);
+        restaurant.setActive(random.nextInt(8) != 0);
+        rows.put(id, restaurant);
+        List<MenuItem> menu = new ArrayList<>();
+        for (int d = 0; d < dishes; d++) {
+            MenuItem item = new MenuItem();
+            item.setId(id * 100 + d);
+            item.setRestaurant(restaurant);
+            item.setName(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]);
+            menu.add(item);
+        }
+        menus.put(id, menu);
+    }
+}
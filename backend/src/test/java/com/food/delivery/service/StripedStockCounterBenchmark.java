@@ -0,0 +1,76 @@
+package com.food.delivery.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Run with mvn test -Pbenchmark
+@Tag("benchmark")
+class StripedStockCounterBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int ROUNDS = 20;
+    private static final int OPERATIONS = 20_000;
+    private static final int INITIAL = 5_000;
+
+    // Same workloads on eight stripes and on one, with seeds fixed so every run does
+    // the same operations: a well-stocked hot item, and one that sells out early
+    // so most attempts fail
+    @Test
+    void eightStripesAgainstOne() throws Exception {
+        for (int initial : new int[] { 10_000_000, INITIAL }) {
+            for (int warmUp = 0; warmUp < 3; warmUp++) {
+                run(new StripedStockCounter(8, initial), warmUp, new AtomicInteger());
+                run(new StripedStockCounter(1, initial), warmUp, new AtomicInteger());
+            }
+            long striped = 0;
+            long single = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                striped += run(new StripedStockCounter(8, initial), round, new AtomicInteger());
+                single += run(new StripedStockCounter(1, initial), round, new AtomicInteger());
+            }
+            System.out.printf("%d threads x %d ops, stock %d: 8 stripes %.1f ms, 1 stripe %.1f ms per round%n",
+                    THREADS, OPERATIONS, initial, striped / 1e6 / ROUNDS, single / 1e6 / ROUNDS);
+        }
+    }
+
+    private static long run(StripedStockCounter counter, int round, AtomicInteger sold) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(round * 1000L + t);
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int held = 0;
+                for (int i = 0; i < OPERATIONS; i++) {
+                    int quantity = 1 + random.nextInt(3);
+                    if (held > 0 && random.nextInt(4) == 0) {
+                        int back = Math.min(held, quantity);
+                        counter.put(back);
+                        held -= back;
+                    } else if (counter.tryTake(quantity)) {
+                        held += quantity;
+                    }
+                }
+                sold.addAndGet(held);
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - begin;
+    }
+}
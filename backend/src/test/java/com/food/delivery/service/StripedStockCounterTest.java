@@ -0,0 +1,65 @@
+package com.food.delivery.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedStockCounterTest {
+
+    private static final int THREADS = 32;
+    private static final int ROUNDS = 20;
+    private static final int OPERATIONS = 20_000;
+    private static final int INITIAL = 5_000;
+
+    // Threads take and return random amounts against one hot item; whatever the
+    // interleaving, every unit is either sold or still on the counter
+    @Test
+    void neverOversellsUnderContention() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            StripedStockCounter counter = new StripedStockCounter(8, INITIAL);
+            AtomicInteger sold = new AtomicInteger();
+            run(counter, round, sold);
+            assertThat(counter.available()).isGreaterThanOrEqualTo(0);
+            assertThat(sold.get() + counter.available()).isEqualTo(INITIAL);
+        }
+    }
+
+    private static void run(StripedStockCounter counter, int round, AtomicInteger sold) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(round * 1000L + t);
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int held = 0;
+                for (int i = 0; i < OPERATIONS; i++) {
+                    int quantity = 1 + random.nextInt(3);
+                    if (held > 0 && random.nextInt(4) == 0) {
+                        int back = Math.min(held, quantity);
+                        counter.put(back);
+                        held -= back;
+                    } else if (counter.tryTake(quantity)) {
+                        held += quantity;
+                    }
+                }
+                sold.addAndGet(held);
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
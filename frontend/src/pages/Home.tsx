@@ -27,7 +27,7 @@ const Home = () => {
         try {
             const endpoint = query ? `/restaurants/search?query=${query}` : '/restaurants';
             const response = await api.get(endpoint);
-            setRestaurants(response.data);
+            setRestaurants(response.data.items);
         } catch (error) {
             console.error('Error fetching restaurants:', error);
         } finally {
@@ -182,13 +182,28 @@ const OwnerDashboard = () => {
         }
     };
 
-    const handleEdit = (item: MenuItem) => {
-        setEditingItem(item);
-        setValue('name', item.name);
-        setValue('description', item.description);
-        setValue('price', item.price);
-        setValue('veg', item.veg);
-        setValue('imageUrl', item.imageUrl);
+    const handleEdit = async (item: MenuItem) => {
+        // The menu list only carries a description snippet; editing it would save the
+        // truncated text back, so the full item has to load before the form opens
+        let fullItem: MenuItem;
+        try {
+            const response = await api.get(`/menu-items/${item.id}`);
+            fullItem = response.data;
+        } catch (error) {
+            console.error('[OwnerDashboard] Failed to load menu item details:', error);
+            Swal.fire({
+                icon: 'error',
+                title: 'Error',
+                text: 'Failed to load menu item details. Please try again.'
+            });
+            return;
+        }
+        setEditingItem(fullItem);
+        setValue('name', fullItem.name);
+        setValue('description', fullItem.description);
+        setValue('price', fullItem.price);
+        setValue('veg', fullItem.veg);
+        setValue('imageUrl', fullItem.imageUrl);
         setShowAddModal(true);
     };
 